@@ -1,5 +0,0 @@
-public class LRUCache {
-    public static void main(String[] args) {
-
-    }
-}
@@ -0,0 +1,27 @@
+import cache.LRUCache;
+
+public class LRUCacheApp {
+    public static void main(String[] args) {
+
+        LRUCache<String, Double> prices = new LRUCache<>(3);
+        prices.setEvictionListener((item, price) ->
+                System.out.println("Evicted    : " + item + " (" + price + ")"));
+
+        prices.put("Pizza", 250.0);
+        prices.put("Burger", 150.0);
+        prices.put("Pasta", 200.0);
+        System.out.println("Cached     : " + prices.keys());
+
+        // Reading Pizza makes Burger the least recently used
+        prices.get("Pizza");
+        prices.put("Fries", 90.0);
+        System.out.println("Cached     : " + prices.keys());
+
+        prices.put("Pasta", 220.0);
+        prices.remove("Fries");
+        prices.setCapacity(1);
+        System.out.println("Cached     : " + prices.keys());
+        System.out.println("Pasta      : " + prices.get("Pasta"));
+        System.out.println("Burger     : " + prices.get("Burger"));
+    }
+}
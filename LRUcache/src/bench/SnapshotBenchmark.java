@@ -0,0 +1,79 @@
+package bench;
+
+import cache.LRUCache;
+import cache.Serializers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Times a snapshot of a full LRUCache<Long, String> and a restore into an empty one, and checks
+ * that the restored cache holds the same keys in the same recency order. "Capture" is how long
+ * the cache's own thread is held up; the rest of the snapshot runs on a writer thread.
+ *
+ * Restoring allocates every key and value at once, so on a small default heap the time goes to
+ * growing it; give the JVM the heap the cache will need (e.g. -Xms1g), as a service would.
+ *
+ * Run: mvn -B -q compile && java -cp LRUcache/target/classes:common/target/classes bench.SnapshotBenchmark [key=value ...]
+ *   entries=1000000  valueLength=32  rounds=3  file=<temp file>
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        int entries = Integer.parseInt(options.getOrDefault("entries", "1000000"));
+        int valueLength = Integer.parseInt(options.getOrDefault("valueLength", "32"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+        Path file = options.containsKey("file") ? Path.of(options.get("file"))
+                : Files.createTempFile("lru-snapshot", ".bin");
+
+        LRUCache<Long, String> cache = new LRUCache<>(entries);
+        String padding = "x".repeat(valueLength);
+        for (long key = 0; key < entries; key++) {
+            cache.put(key, key + padding.substring(Long.toString(key).length()));
+        }
+        // Shuffle the recency order a little so the check below means something
+        for (long key = 0; key < entries; key += 7) {
+            cache.get(key);
+        }
+        List<Long> expected = cache.keys();
+
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            System.out.printf("%-8s %10s %11s %12s %11s%n", "round", "entries", "capture ms", "snapshot ms", "restore ms");
+            for (int round = 1; round <= rounds; round++) {
+                long start = System.nanoTime();
+                CompletableFuture<Long> written = cache.snapshot(file, Serializers.LONG, Serializers.STRING, writer);
+                long captureNanos = System.nanoTime() - start;
+                long bytes = written.join();
+                long snapshotNanos = System.nanoTime() - start;
+
+                LRUCache<Long, String> restored = new LRUCache<>(entries);
+                start = System.nanoTime();
+                int read = restored.restore(file, Serializers.LONG, Serializers.STRING);
+                long restoreNanos = System.nanoTime() - start;
+
+                if (!restored.keys().equals(expected)) {
+                    throw new IllegalStateException("Restored cache is not in the snapshot's order");
+                }
+                System.out.printf("%-8d %,10d %11.1f %12.1f %11.1f   (%,d bytes)%n",
+                        round, read, captureNanos / 1e6, snapshotNanos / 1e6, restoreNanos / 1e6, bytes);
+            }
+        } finally {
+            writer.shutdown();
+            if (!options.containsKey("file")) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
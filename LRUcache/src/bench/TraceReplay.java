@@ -0,0 +1,106 @@
+package bench;
+
+import cache.LRUCache;
+import cache.LruPolicy;
+import cache.WTinyLfuPolicy;
+import interfaces.EvictionPolicy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Replays a recorded key stream against each eviction policy and cache size and prints the hit
+ * rate. Every access is a get, and a miss is followed by a put, as in a read-through cache.
+ *
+ * The trace is a text file with one access per line; the key is the whitespace-separated field
+ * at {@code column}. Without a trace, a synthetic one is used: Zipf-distributed reads over a
+ * catalogue with a scan of cold keys every so often, i.e. the traffic that hurts plain LRU.
+ *
+ * Run: mvn -B -q compile && java -cp LRUcache/target/classes:common/target/classes bench.TraceReplay [key=value ...]
+ *   trace=keys.txt  column=0  capacities=1000,10000  policies=lru,tinylfu
+ */
+public class TraceReplay {
+
+    private static final Map<String, Supplier<EvictionPolicy<Object, Boolean>>> POLICIES = Map.of(
+            "lru", LruPolicy::new,
+            "tinylfu", WTinyLfuPolicy::new);
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        String[] policies = options.getOrDefault("policies", "lru,tinylfu").split(",");
+        int[] capacities = Arrays.stream(options.getOrDefault("capacities", "1000,10000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+        Consumer<Consumer<Object>> trace = options.containsKey("trace")
+                ? fileTrace(Path.of(options.get("trace")), Integer.parseInt(options.getOrDefault("column", "0")))
+                : TraceReplay::syntheticTrace;
+
+        System.out.printf("%-8s %10s %12s %12s %9s%n", "policy", "capacity", "accesses", "hits", "hit rate");
+        for (int capacity : capacities) {
+            for (String policy : policies) {
+                LRUCache<Object, Boolean> cache = new LRUCache<>(capacity, POLICIES.get(policy).get());
+                long[] counts = new long[2];
+                trace.accept(key -> {
+                    counts[0]++;
+                    if (cache.get(key) != null) {
+                        counts[1]++;
+                    } else {
+                        cache.put(key, Boolean.TRUE);
+                    }
+                });
+                System.out.printf("%-8s %,10d %,12d %,12d %8.2f%%%n",
+                        policy, capacity, counts[0], counts[1], counts[0] == 0 ? 0.0 : counts[1] * 100.0 / counts[0]);
+            }
+        }
+    }
+
+    private static Consumer<Consumer<Object>> fileTrace(Path path, int column) {
+        return consumer -> {
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.trim().split("\\s+");
+                    if (fields.length > column && !fields[column].isEmpty()) {
+                        consumer.accept(fields[column]);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // 2M reads, Zipf(0.9) over 100k hot keys, with a scan of 20k never-repeated keys every 100k reads
+    private static void syntheticTrace(Consumer<Object> consumer) {
+        int catalogue = 100_000;
+        double[] cumulative = new double[catalogue];
+        double total = 0;
+        for (int rank = 0; rank < catalogue; rank++) {
+            total += 1 / Math.pow(rank + 1, 0.9);
+            cumulative[rank] = total;
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        long coldKey = catalogue;
+        for (int i = 1; i <= 2_000_000; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            consumer.accept((long) (rank < 0 ? -rank - 1 : rank));
+            if (i % 100_000 == 0) {
+                for (int s = 0; s < 20_000; s++) {
+                    consumer.accept(coldKey++);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package cache;
+
+/**
+ * One cached key and value, as seen by an {@link interfaces.EvictionPolicy}. The policies in
+ * this package order entries through the links kept here, so they need no map of their own.
+ * Entries are reused after eviction or removal; a policy must not hold on to one after that.
+ */
+public final class CacheEntry<K, V> {
+    K key;
+    V value;
+    CacheEntry<K, V> prev;
+    CacheEntry<K, V> next;
+    int weight;
+    // Which of the policy's queues the entry is on
+    byte region;
+
+    CacheEntry() {
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,177 @@
+package cache;
+
+import interfaces.Serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes and reads {@link LRUCache} snapshots through memory-mapped files.
+ *
+ * Layout, big-endian: a 16-byte header of magic, format version and entry count, then one record
+ * per entry, from the entry the policy would evict first to the one it most wants to keep. Each
+ * record is the length of its key and value bytes followed by the serialized key and value.
+ * Replaying the records in file order with plain puts therefore rebuilds the recency order.
+ *
+ * The file is mapped in windows of at most {@link #WINDOW_BYTES}, so snapshots are not limited
+ * to the 2 GB a single mapping can cover.
+ */
+final class CacheSnapshots {
+    private static final int MAGIC = 0x4C525553; // "LRUS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private CacheSnapshots() {
+    }
+
+    /**
+     * Copies the cache's keys and values in order on the calling thread, which is only a
+     * reference copy, then encodes and writes them on the executor. The file is written next to
+     * the target and moved over it when complete, so a crash never leaves a partial snapshot.
+     * Values must not be mutated while the write is running.
+     *
+     * @return completes with the snapshot's size in bytes
+     */
+    static <K, V> CompletableFuture<Long> writeAsync(LRUCache<K, V> cache, Path file,
+                                                     Serializer<K> keySerializer, Serializer<V> valueSerializer,
+                                                     Executor executor) {
+        List<K> order = cache.keys();
+        int count = order.size();
+        Object[] keys = new Object[count];
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            // keys() starts with the entry the policy most wants to keep; the file starts with the least
+            K key = order.get(count - 1 - i);
+            keys[i] = key;
+            values[i] = cache.peek(key);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(file, keys, values, keySerializer, valueSerializer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> long write(Path file, Object[] keys, Object[] values,
+                                     Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        int[] recordBytes = new int[keys.length];
+        long total = HEADER_BYTES;
+        for (int i = 0; i < keys.length; i++) {
+            long bytes = (long) keySerializer.size((K) keys[i]) + valueSerializer.size((V) values[i]);
+            if (bytes > WINDOW_BYTES - Integer.BYTES) {
+                throw new IllegalArgumentException("Entry " + keys[i] + " is too large to snapshot: " + bytes + " bytes");
+            }
+            recordBytes[i] = (int) bytes;
+            total += Integer.BYTES + bytes;
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Window window = new Window(channel, FileChannel.MapMode.READ_WRITE, total);
+            MappedByteBuffer out = window.ensure(HEADER_BYTES);
+            out.putInt(MAGIC).putInt(VERSION).putLong(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out = window.ensure(Integer.BYTES + recordBytes[i]);
+                int start = out.position();
+                out.putInt(recordBytes[i]);
+                keySerializer.write((K) keys[i], out);
+                valueSerializer.write((V) values[i], out);
+                if (out.position() - start != Integer.BYTES + recordBytes[i]) {
+                    throw new IllegalStateException("Serializer wrote a different size than it reported for " + keys[i]);
+                }
+            }
+            window.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return total;
+    }
+
+    /**
+     * Puts every entry of the snapshot into the cache, oldest first. Entries beyond the cache's
+     * capacity evict the oldest restored ones, as they would have in the original cache.
+     *
+     * @return the number of entries read
+     */
+    static <K, V> int restore(LRUCache<K, V> cache, Path file,
+                              Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileBytes = channel.size();
+            Window window = new Window(channel, FileChannel.MapMode.READ_ONLY, fileBytes);
+            if (fileBytes < HEADER_BYTES) {
+                throw new IllegalStateException("Not a cache snapshot: " + file);
+            }
+            MappedByteBuffer in = window.ensure(HEADER_BYTES);
+            if (in.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a cache snapshot: " + file);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported snapshot version " + version + " in " + file);
+            }
+            long count = in.getLong();
+            for (long i = 0; i < count; i++) {
+                in = window.ensure(Integer.BYTES);
+                int bytes = in.getInt();
+                in = window.ensure(bytes);
+                int start = in.position();
+                K key = keySerializer.read(in);
+                V value = valueSerializer.read(in);
+                if (in.position() - start != bytes) {
+                    throw new IllegalStateException("Corrupt snapshot record " + i + " in " + file);
+                }
+                cache.put(key, value);
+            }
+            return (int) count;
+        }
+    }
+
+    // A sliding mapping over the file; ensure() remaps so the next n bytes are in one buffer
+    private static class Window {
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private final long fileBytes;
+        private long start;
+        private MappedByteBuffer buffer;
+
+        private Window(FileChannel channel, FileChannel.MapMode mode, long fileBytes) {
+            this.channel = channel;
+            this.mode = mode;
+            this.fileBytes = fileBytes;
+        }
+
+        private MappedByteBuffer ensure(int bytes) throws IOException {
+            if (buffer != null && buffer.remaining() >= bytes) {
+                return buffer;
+            }
+            if (buffer != null) {
+                force();
+                start += buffer.position();
+            }
+            if (bytes < 0 || start + bytes > fileBytes) {
+                throw new IllegalStateException("Snapshot is truncated at byte " + start);
+            }
+            buffer = channel.map(mode, start, Math.min(WINDOW_BYTES, fileBytes - start));
+            return buffer;
+        }
+
+        private void force() {
+            if (mode == FileChannel.MapMode.READ_WRITE && buffer != null) {
+                buffer.force();
+            }
+        }
+    }
+}
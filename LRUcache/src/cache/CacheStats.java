@@ -0,0 +1,76 @@
+package cache;
+
+import enums.EvictionCause;
+
+import java.util.Map;
+
+/**
+ * Point-in-time copy of a cache's counters. Counters are read one by one while traffic
+ * continues, so they may disagree by in-flight operations.
+ */
+public class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadNanos;
+    private final Map<EvictionCause, Long> evictionCounts;
+    private final long weight;
+
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                      long totalLoadNanos, Map<EvictionCause, Long> evictionCounts, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadNanos = totalLoadNanos;
+        this.evictionCounts = evictionCounts;
+        this.weight = weight;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long getTotalLoadNanos() {
+        return totalLoadNanos;
+    }
+
+    public double getAverageLoadNanos() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadNanos / loads;
+    }
+
+    public long getEvictionCount(EvictionCause cause) {
+        return evictionCounts.getOrDefault(cause, 0L);
+    }
+
+    // Current total weight; the entry count when the cache has no weigher
+    public long getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d hitRate=%.2f%% loads=%d failures=%d avgLoad=%.0fns evictions=%s weight=%d",
+                hitCount, missCount, getHitRate() * 100, loadSuccessCount, loadFailureCount,
+                getAverageLoadNanos(), evictionCounts, weight);
+    }
+}
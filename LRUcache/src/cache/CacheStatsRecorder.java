@@ -0,0 +1,60 @@
+package cache;
+
+import enums.EvictionCause;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache counters on LongAdders, which stripe under contention, so recording from many threads
+ * costs about one uncontended add. Caches hold a null recorder until stats are enabled, which
+ * leaves only a null check on their paths.
+ */
+public class CacheStatsRecorder {
+    private static final EvictionCause[] CAUSES = EvictionCause.values();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder[] evictions = new LongAdder[CAUSES.length];
+
+    public CacheStatsRecorder() {
+        for (int i = 0; i < evictions.length; i++) {
+            evictions[i] = new LongAdder();
+        }
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordLoadSuccess(long nanos) {
+        loadSuccesses.increment();
+        loadNanos.add(nanos);
+    }
+
+    public void recordLoadFailure(long nanos) {
+        loadFailures.increment();
+        loadNanos.add(nanos);
+    }
+
+    public void recordEviction(EvictionCause cause) {
+        evictions[cause.ordinal()].increment();
+    }
+
+    public CacheStats snapshot(long weight) {
+        Map<EvictionCause, Long> evictionCounts = new EnumMap<>(EvictionCause.class);
+        for (EvictionCause cause : CAUSES) {
+            evictionCounts.put(cause, evictions[cause.ordinal()].sum());
+        }
+        return new CacheStats(hits.sum(), misses.sum(), loadSuccesses.sum(), loadFailures.sum(),
+                loadNanos.sum(), evictionCounts, weight);
+    }
+}
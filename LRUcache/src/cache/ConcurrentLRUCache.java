@@ -0,0 +1,282 @@
+package cache;
+
+import interfaces.Cache;
+import interfaces.EvictionListener;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe LRU cache for read-heavy traffic.
+ *
+ * Entries live in a ConcurrentHashMap, so lookups and writes never wait for the recency list.
+ * A hit does not reorder the list itself: it records the node in one of several small ring
+ * buffers, picked by thread, and returns. When a buffer fills up, whichever reader notices takes
+ * the eviction lock with tryLock and replays the buffered hits onto the list in one batch; if
+ * another thread already holds the lock, the reader just carries on. Writes queue their list
+ * changes the same way and apply them, plus any evictions, under the lock.
+ *
+ * Buffers are lossy: a hit recorded into a full or contended buffer is dropped, so the order is
+ * an approximation of LRU that gets better the hotter a key is. The size can briefly exceed the
+ * capacity by the writes not yet applied.
+ */
+public class ConcurrentLRUCache<K, V> implements Cache<K, V> {
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    // Writes queued beyond this make the writer wait for the lock instead of leaving them to others
+    private static final int WRITE_BUFFER_LIMIT = 128;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int capacity;
+    private volatile EvictionListener<K, V> evictionListener;
+
+    // Guarded by evictionLock
+    private final Node<K, V> head = new Node<>(null, null);
+    private int linked;
+
+    public ConcurrentLRUCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.data = new ConcurrentHashMap<>((int) Math.min(capacity / 0.75f + 1, 1 << 30));
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+        @SuppressWarnings("unchecked")
+        ReadBuffer<K, V>[] buffers = (ReadBuffer<K, V>[]) new ReadBuffer<?, ?>[Math.min(stripes, 256)];
+        this.readBuffers = buffers;
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        head.prev = head;
+        head.next = head;
+    }
+
+    // Called under the eviction lock, so it should be quick
+    public void setEvictionListener(EvictionListener<K, V> evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        afterRead(node);
+        return node.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        while (true) {
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                Node<K, V> added = new Node<>(key, value);
+                node = data.putIfAbsent(key, added);
+                if (node == null) {
+                    afterWrite(() -> link(added));
+                    return null;
+                }
+            }
+            V previous = node.value;
+            node.value = value;
+            // If the node was removed or evicted meanwhile the value went nowhere; add it afresh
+            if (data.get(key) == node) {
+                afterRead(node);
+                return previous;
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        node.retired = true;
+        afterWrite(() -> unlink(node));
+        return node.value;
+    }
+
+    public boolean containsKey(K key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Applies every buffered read and write now, e.g. before inspecting the size
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            drainBuffers();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = readBuffers[stripe()];
+        if (buffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                drainBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        if (pendingWrites.incrementAndGet() > WRITE_BUFFER_LIMIT) {
+            evictionLock.lock();
+        } else if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            drainBuffers();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void drainBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drain(this);
+        }
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            pendingWrites.decrementAndGet();
+            task.run();
+        }
+        while (linked > capacity) {
+            evict();
+        }
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & (readBuffers.length - 1);
+    }
+
+    // The methods below run under the eviction lock
+
+    private void touch(Node<K, V> node) {
+        if (node.prev == null || head.next == node) return;
+        unlinkNode(node);
+        linkAtHead(node);
+    }
+
+    private void link(Node<K, V> node) {
+        // A remove can overtake the add that it undoes
+        if (node.retired || node.prev != null) return;
+        linkAtHead(node);
+        linked++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev == null) return;
+        unlinkNode(node);
+        linked--;
+    }
+
+    private void evict() {
+        Node<K, V> eldest = head.prev;
+        unlink(eldest);
+        // Only an eviction that wins the race against remove() is reported
+        if (data.remove(eldest.key, eldest)) {
+            eldest.retired = true;
+            EvictionListener<K, V> listener = evictionListener;
+            if (listener != null) {
+                listener.onEviction(eldest.key, eldest.value);
+            }
+        }
+    }
+
+    private void linkAtHead(Node<K, V> node) {
+        node.prev = head;
+        node.next = head.next;
+        head.next.prev = node;
+        head.next = node;
+    }
+
+    private void unlinkNode(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile boolean retired;
+        // Guarded by evictionLock; prev is null while the node is not on the list
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bounded multi-producer ring of recently read nodes, drained by the eviction lock holder.
+     */
+    private static class ReadBuffer<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        // Records the read unless the buffer is full or contended; returns true when it should be drained
+        boolean offer(Node<K, V> node) {
+            long read = readCounter;
+            long write = writeCounter.get();
+            if (write - read >= READ_BUFFER_SIZE) {
+                return true;
+            }
+            if (!writeCounter.compareAndSet(write, write + 1)) {
+                return false;
+            }
+            slots.lazySet((int) write & READ_BUFFER_MASK, node);
+            return write - read + 1 >= READ_BUFFER_SIZE;
+        }
+
+        void drain(ConcurrentLRUCache<K, V> cache) {
+            long read = readCounter;
+            long write = writeCounter.get();
+            for (; read < write; read++) {
+                int slot = (int) read & READ_BUFFER_MASK;
+                Node<K, V> node = slots.get(slot);
+                // Claimed but not yet published; pick it up on the next drain
+                if (node == null) break;
+                slots.lazySet(slot, null);
+                if (!node.retired) {
+                    cache.touch(node);
+                }
+            }
+            readCounter = read;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cache;
+
+import java.util.List;
+
+// Circular doubly-linked lists of entries around a sentinel, shared by the policies
+final class EntryLists {
+
+    private EntryLists() {
+    }
+
+    static <K, V> CacheEntry<K, V> newSentinel() {
+        CacheEntry<K, V> sentinel = new CacheEntry<>();
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+
+    static <K, V> void linkAfter(CacheEntry<K, V> sentinel, CacheEntry<K, V> entry) {
+        entry.prev = sentinel;
+        entry.next = sentinel.next;
+        sentinel.next.prev = entry;
+        sentinel.next = entry;
+    }
+
+    static <K, V> void unlink(CacheEntry<K, V> entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    static <K, V> void moveAfter(CacheEntry<K, V> sentinel, CacheEntry<K, V> entry) {
+        unlink(entry);
+        linkAfter(sentinel, entry);
+    }
+
+    static <K, V> void addKeys(CacheEntry<K, V> sentinel, List<K> keys) {
+        for (CacheEntry<K, V> entry = sentinel.next; entry != sentinel; entry = entry.next) {
+            keys.add(entry.key);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package cache;
+
+import java.util.Arrays;
+
+/**
+ * Approximate access counts for W-TinyLFU: a count-min sketch of 4-bit counters, sixteen to a
+ * long, with four counters per key. A key's frequency is the smallest of its four counters, so
+ * collisions can only overestimate it.
+ *
+ * After about ten accesses per cached entry every counter is halved. Old popularity therefore
+ * fades, and a key that was hot yesterday cannot keep a slot it no longer uses.
+ */
+final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x97CB3127A2F1E44BL, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0x9E3779B97F4A7C15L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private long[] table = new long[1];
+    private int tableMask;
+    private int sampleSize = 10;
+    private int additions;
+
+    // Sized for the cache's capacity; existing counts are dropped
+    void ensureCapacity(int capacity) {
+        sampleSize = (int) Math.min(10L * capacity, Integer.MAX_VALUE);
+        int length = Integer.highestOneBit(Math.max(8, capacity - 1)) << 1;
+        if (length == table.length) return;
+        table = new long[length];
+        tableMask = length - 1;
+        additions = 0;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            long slot = slotHash(hash, i);
+            int shift = counterShift(slot);
+            frequency = Math.min(frequency, (int) ((table[index(slot)] >>> shift) & MAX_COUNT));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            long slot = slotHash(hash, i);
+            int index = index(slot);
+            int shift = counterShift(slot);
+            if (((table[index] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            age();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(table, 0);
+        additions = 0;
+    }
+
+    private void age() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private long slotHash(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        return h ^ (h >>> 29);
+    }
+
+    private int index(long slotHash) {
+        return (int) slotHash & tableMask;
+    }
+
+    // One of the sixteen 4-bit counters in the chosen long
+    private static int counterShift(long slotHash) {
+        return (int) (slotHash >>> 60) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,271 @@
+package cache;
+
+import enums.EvictionCause;
+import interfaces.Cache;
+import interfaces.EvictionListener;
+import interfaces.EvictionPolicy;
+import interfaces.Serializer;
+import interfaces.Weigher;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Bounded cache with O(1) get, put and remove. By default it evicts the least recently used
+ * entry; pass a different {@link EvictionPolicy}, such as {@link WTinyLfuPolicy}, to change that.
+ *
+ * The bound is an entry count, or, with a {@link Weigher}, a maximum total weight such as bytes,
+ * so that a few large values cannot crowd out memory meant for many small ones.
+ *
+ * A hash map finds the entry, and the policy keeps the entries in its own intrusive lists, so a
+ * hit allocates nothing. The entry of an evicted or removed key is kept and reused for the next
+ * new key.
+ *
+ * Not thread-safe. Null keys and values are not allowed, so {@code get} returning null always
+ * means a miss.
+ */
+public class LRUCache<K, V> implements Cache<K, V> {
+    private final Map<K, CacheEntry<K, V>> index;
+    private final EvictionPolicy<K, V> policy;
+    private final Weigher<K, V> weigher;
+    private CacheEntry<K, V> spare;
+    private long maximumWeight;
+    private long weight;
+    private EvictionListener<K, V> evictionListener;
+    private CacheStatsRecorder stats;
+
+    public LRUCache(int capacity) {
+        this(capacity, new LruPolicy<>());
+    }
+
+    public LRUCache(int capacity, EvictionPolicy<K, V> policy) {
+        this(capacity, null, policy);
+    }
+
+    /**
+     * @param maximumWeight most total weight held at once
+     * @param weigher       weight of each entry; null counts every entry as 1
+     */
+    public LRUCache(long maximumWeight, Weigher<K, V> weigher, EvictionPolicy<K, V> policy) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.index = weigher == null
+                ? new HashMap<>((int) Math.min(maximumWeight / 0.75f + 1, 1 << 30))
+                : new HashMap<>();
+        this.policy = policy;
+        policy.setCapacity(maximumWeight);
+    }
+
+    public void setEvictionListener(EvictionListener<K, V> evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    // Starts counting hits, misses and evictions; until then stats cost nothing
+    public void recordStats() {
+        setStatsRecorder(new CacheStatsRecorder());
+    }
+
+    // Lets a cache built on this one, such as LoadingLRUCache, add its counts to the same recorder
+    void setStatsRecorder(CacheStatsRecorder stats) {
+        this.stats = stats;
+    }
+
+    public CacheStats stats() {
+        if (stats == null) {
+            throw new IllegalStateException("Stats are not enabled; call recordStats() first");
+        }
+        return stats.snapshot(weight);
+    }
+
+    // Returns the value and tells the policy about the hit, or null on a miss
+    @Override
+    public V get(K key) {
+        policy.recordAccess(key);
+        CacheEntry<K, V> entry = index.get(key);
+        if (entry == null) {
+            if (stats != null) stats.recordMiss();
+            return null;
+        }
+        policy.onHit(entry);
+        if (stats != null) stats.recordHit();
+        return entry.value;
+    }
+
+    // Returns the value without the policy or the stats seeing the access
+    public V peek(K key) {
+        CacheEntry<K, V> entry = index.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public boolean containsKey(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Stores the value, evicting entries the policy picks until the total weight fits. A value
+     * heavier than the maximum weight is not kept at all and counts as evicted.
+     *
+     * @return the previous value for the key, or null
+     */
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        int entryWeight = weigh(key, value);
+        policy.recordAccess(key);
+        CacheEntry<K, V> entry = index.get(key);
+        if (entryWeight > maximumWeight) {
+            V previous = entry == null ? null : remove(key);
+            onEvicted(key, value);
+            return previous;
+        }
+        if (entry != null) {
+            V previous = entry.value;
+            int oldWeight = entry.weight;
+            entry.value = value;
+            if (entryWeight == oldWeight) {
+                policy.onHit(entry);
+            } else {
+                entry.weight = entryWeight;
+                weight += entryWeight - oldWeight;
+                policy.onWeightChange(entry, oldWeight);
+                evictWhileOver(maximumWeight);
+            }
+            return previous;
+        }
+        evictWhileOver(maximumWeight - entryWeight);
+        entry = spare != null ? spare : new CacheEntry<>();
+        spare = null;
+        entry.key = key;
+        entry.value = value;
+        entry.weight = entryWeight;
+        index.put(key, entry);
+        weight += entryWeight;
+        policy.onInsert(entry);
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        CacheEntry<K, V> entry = index.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        policy.onRemove(entry);
+        weight -= entry.weight;
+        V value = entry.value;
+        recycle(entry);
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    // The maximum entry count, or the maximum weight capped at Integer.MAX_VALUE when weighted
+    @Override
+    public int getCapacity() {
+        return (int) Math.min(maximumWeight, Integer.MAX_VALUE);
+    }
+
+    // Shrinking evicts until the cache fits
+    public void setCapacity(int capacity) {
+        setMaximumWeight(capacity);
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        policy.setCapacity(maximumWeight);
+        evictWhileOver(maximumWeight);
+    }
+
+    // Total weight of the cached entries; the entry count when there is no weigher
+    public long getWeight() {
+        return weight;
+    }
+
+    public void clear() {
+        index.clear();
+        policy.clear();
+        weight = 0;
+    }
+
+    // Keys in the policy's order, from the one it most wants to keep; most recent first for LRU
+    public List<K> keys() {
+        return policy.keys();
+    }
+
+    /**
+     * Saves the entries and their eviction order to a file, so a restarted process can start
+     * warm with {@link #restore}. Only references are copied on this thread; encoding and writing
+     * run on the executor, so the cache can be used again as soon as this returns.
+     *
+     * @return completes with the snapshot's size in bytes once it is on disk
+     */
+    public CompletableFuture<Long> snapshot(Path file, Serializer<K> keySerializer, Serializer<V> valueSerializer,
+                                            Executor executor) {
+        return CacheSnapshots.writeAsync(this, file, keySerializer, valueSerializer, executor);
+    }
+
+    /**
+     * Loads a snapshot written by {@link #snapshot}, in its eviction order, on top of what the
+     * cache already holds. Frequency history is not saved, so W-TinyLFU restarts from recency.
+     *
+     * @return the number of entries read
+     */
+    public int restore(Path file, Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        return CacheSnapshots.restore(this, file, keySerializer, valueSerializer);
+    }
+
+    private int weigh(K key, V value) {
+        if (weigher == null) return 1;
+        int entryWeight = weigher.weigh(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Negative weight " + entryWeight + " for key " + key);
+        }
+        return entryWeight;
+    }
+
+    private void evictWhileOver(long limit) {
+        while (weight > limit && !index.isEmpty()) {
+            CacheEntry<K, V> victim = policy.selectVictim();
+            index.remove(victim.key);
+            weight -= victim.weight;
+            K key = victim.key;
+            V value = victim.value;
+            recycle(victim);
+            onEvicted(key, value);
+        }
+    }
+
+    private void onEvicted(K key, V value) {
+        if (stats != null) stats.recordEviction(EvictionCause.SIZE);
+        if (evictionListener != null) {
+            evictionListener.onEviction(key, value);
+        }
+    }
+
+    // Clears the entry so it does not keep the old key and value reachable, and keeps it for the next put
+    private void recycle(CacheEntry<K, V> entry) {
+        entry.key = null;
+        entry.value = null;
+        spare = entry;
+    }
+}
@@ -0,0 +1,497 @@
+package cache;
+
+import enums.EvictionCause;
+import interfaces.Cache;
+import interfaces.CacheLoader;
+import interfaces.EvictionListener;
+import interfaces.EvictionPolicy;
+import interfaces.Weigher;
+import scheduler.HierarchicalTimingWheel;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe {@link LRUCache} that fills itself from a {@link CacheLoader}.
+ *
+ * A miss calls the loader, and concurrent misses on the same key share one call: the first
+ * caller loads and the rest wait for its result, so a popular key going missing does not send a
+ * burst of identical requests to the backing store.
+ *
+ * Entries can expire a fixed time after they were written or last read. Deadlines sit on a
+ * {@link HierarchicalTimingWheel} that is advanced on every call, so expired entries are dropped
+ * in O(1) each without a background thread or a scan. Reads only stamp the access time; when a
+ * timeout fires, the entry's real deadline is checked again and the timeout is moved if the entry
+ * was read since.
+ *
+ * With refresh-after-write, a hit on an entry older than the refresh time returns the current
+ * value at once and reloads it in the background, so hot keys are renewed before they expire
+ * and readers never wait for the loader.
+ *
+ * The loader runs without the cache's lock held. A load stores its result only if the key's entry
+ * is still the one it started from, or still absent for a miss; if the key was put, removed or
+ * reloaded meanwhile, the result is returned to its caller but not cached, so a slow load can
+ * neither overwrite a newer value nor resurrect a removed one. The eviction listener runs with
+ * the lock held and must not call back into the cache.
+ */
+public class LoadingLRUCache<K, V> implements Cache<K, V> {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LRUCache<K, Holder<K, V>> cache;
+    private final CacheLoader<K, V> loader;
+    // Loads in flight; the future is shared by every caller that misses on the key meanwhile
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final long expireAfterWriteMillis;
+    private final long expireAfterAccessMillis;
+    private final long refreshAfterWriteMillis;
+    private final Executor executor;
+    private final Clock clock;
+    // Null when nothing expires
+    private final HierarchicalTimingWheel<Holder<K, V>> wheel;
+    private final List<Holder<K, V>> due = new ArrayList<>();
+    private final CacheStatsRecorder stats;
+    private final EvictionListener<K, V> evictionListener;
+
+    @SuppressWarnings("unchecked")
+    private LoadingLRUCache(Builder<K, V> builder) {
+        this.loader = builder.loader;
+        this.expireAfterWriteMillis = builder.expireAfterWriteMillis;
+        this.expireAfterAccessMillis = builder.expireAfterAccessMillis;
+        this.refreshAfterWriteMillis = builder.refreshAfterWriteMillis;
+        this.executor = builder.executor;
+        this.clock = builder.clock;
+        this.stats = builder.recordStats ? new CacheStatsRecorder() : null;
+        this.evictionListener = builder.evictionListener;
+
+        Weigher<K, V> weigher = builder.weigher;
+        // Policies only order entries by key and never read the value, so any value type will do
+        EvictionPolicy<K, Holder<K, V>> policy = (EvictionPolicy<K, Holder<K, V>>) builder.policy;
+        this.cache = new LRUCache<>(builder.maximumWeight,
+                weigher == null ? null : (key, holder) -> weigher.weigh(key, holder.value), policy);
+        cache.setStatsRecorder(stats);
+        cache.setEvictionListener(this::onSizeEviction);
+
+        long shortestTtl = Math.min(
+                expireAfterWriteMillis > 0 ? expireAfterWriteMillis : Long.MAX_VALUE,
+                expireAfterAccessMillis > 0 ? expireAfterAccessMillis : Long.MAX_VALUE);
+        // A tick of about 1/32 of the TTL keeps expiry within 3% of the deadline
+        this.wheel = shortestTtl == Long.MAX_VALUE ? null
+                : new HierarchicalTimingWheel<>(Math.clamp(shortestTtl / 32, 1, 1000), clock.millis());
+    }
+
+    public static <K, V> Builder<K, V> builder(CacheLoader<K, V> loader) {
+        return new Builder<>(loader);
+    }
+
+    /**
+     * Returns the cached value, loading it on a miss. Callers that miss on a key already being
+     * loaded wait for that load instead of starting their own.
+     *
+     * @return the value, or null if the loader has none
+     * @throws IllegalStateException if the loader threw a checked exception; unchecked ones are rethrown as is
+     */
+    @Override
+    public V get(K key) {
+        Objects.requireNonNull(key, "key");
+        V value = lookup(key);
+        return value != null ? value : load(key);
+    }
+
+    // Returns the cached value without loading it, or null
+    public V getIfPresent(K key) {
+        Objects.requireNonNull(key, "key");
+        return lookup(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        lock.lock();
+        try {
+            long now = clock.millis();
+            expireEntries(now);
+            Holder<K, V> previous = store(key, value, now);
+            return previous == null || isExpired(previous, now) ? null : previous.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        lock.lock();
+        try {
+            long now = clock.millis();
+            expireEntries(now);
+            Holder<K, V> previous = cache.remove(key);
+            if (previous == null) {
+                return null;
+            }
+            cancelTimeout(previous);
+            return previous.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            expireEntries(clock.millis());
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return cache.getCapacity();
+    }
+
+    // Drops expired entries now instead of on the next call
+    public void cleanUp() {
+        lock.lock();
+        try {
+            expireEntries(clock.millis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return cache.stats();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private V lookup(K key) {
+        boolean refresh;
+        V value;
+        Holder<K, V> holder;
+        lock.lock();
+        try {
+            long now = clock.millis();
+            expireEntries(now);
+            holder = cache.peek(key);
+            if (holder != null && isExpired(holder, now)) {
+                // Its timeout has not reached the front of the wheel yet
+                expire(holder);
+            }
+            holder = cache.get(key);
+            if (holder == null) {
+                return null;
+            }
+            holder.accessMillis = now;
+            value = holder.value;
+            refresh = refreshAfterWriteMillis > 0 && now - holder.writeMillis >= refreshAfterWriteMillis;
+        } finally {
+            lock.unlock();
+        }
+        if (refresh) {
+            refreshAsync(key, holder);
+        }
+        return value;
+    }
+
+    private V load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            // Another caller may have stored the value between our miss and taking the slot
+            Holder<K, V> fresh = peekFresh(key);
+            V value = fresh != null ? fresh.value : loadAndStore(key, null);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    // Reloads the key on the executor unless a load for it is already running
+    private void refreshAsync(K key, Holder<K, V> stale) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        if (loading.putIfAbsent(key, future) != null) {
+            return;
+        }
+        Runnable refresh = () -> {
+            try {
+                future.complete(loadAndStore(key, stale));
+            } catch (Throwable e) {
+                // The old value stays until it expires; the next stale hit tries again
+                future.completeExceptionally(e);
+            } finally {
+                loading.remove(key, future);
+            }
+        };
+        try {
+            executor.execute(refresh);
+        } catch (RejectedExecutionException e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Calls the loader and caches the result if the key's live entry is still {@code expected}
+     * (null for a miss); otherwise the key changed while the loader ran and the result is dropped.
+     */
+    private V loadAndStore(K key, Holder<K, V> expected) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.load(key);
+        } catch (RuntimeException e) {
+            if (stats != null) stats.recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        } catch (Exception e) {
+            if (stats != null) stats.recordLoadFailure(System.nanoTime() - start);
+            throw new IllegalStateException("Loading " + key + " failed", e);
+        }
+        if (stats != null) stats.recordLoadSuccess(System.nanoTime() - start);
+        lock.lock();
+        try {
+            long now = clock.millis();
+            expireEntries(now);
+            Holder<K, V> current = cache.peek(key);
+            if (current != null && isExpired(current, now)) {
+                current = null;
+            }
+            if (current == expected) {
+                if (value != null) {
+                    store(key, value, now);
+                } else if (current != null) {
+                    cache.remove(key);
+                    cancelTimeout(current);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    // The key's live entry, or null if it is absent or expired
+    private Holder<K, V> peekFresh(K key) {
+        lock.lock();
+        try {
+            Holder<K, V> holder = cache.peek(key);
+            return holder == null || isExpired(holder, clock.millis()) ? null : holder;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    // Caller holds the lock
+    private Holder<K, V> store(K key, V value, long now) {
+        Holder<K, V> holder = new Holder<>(key, value, now);
+        Holder<K, V> previous = cache.put(key, holder);
+        if (previous != null) {
+            cancelTimeout(previous);
+        }
+        // A value heavier than the whole cache was evicted straight away
+        if (wheel != null && cache.peek(key) == holder) {
+            holder.timeout = wheel.schedule(holder, deadline(holder));
+        }
+        return previous;
+    }
+
+    // Caller holds the lock
+    private void expireEntries(long now) {
+        if (wheel == null) {
+            return;
+        }
+        // The wheel must not be called back from advance, so due entries are handled after it
+        wheel.advance(now, due::add);
+        for (Holder<K, V> holder : due) {
+            holder.timeout = null;
+            if (cache.peek(holder.key) != holder) {
+                continue;
+            }
+            long deadline = deadline(holder);
+            if (deadline > now) {
+                // Read since it was scheduled
+                holder.timeout = wheel.schedule(holder, deadline);
+            } else {
+                expire(holder);
+            }
+        }
+        due.clear();
+    }
+
+    private void expire(Holder<K, V> holder) {
+        cache.remove(holder.key);
+        cancelTimeout(holder);
+        if (stats != null) stats.recordEviction(EvictionCause.EXPIRED);
+        if (evictionListener != null) {
+            evictionListener.onEviction(holder.key, holder.value);
+        }
+    }
+
+    private void onSizeEviction(K key, Holder<K, V> holder) {
+        cancelTimeout(holder);
+        if (evictionListener != null) {
+            evictionListener.onEviction(key, holder.value);
+        }
+    }
+
+    private void cancelTimeout(Holder<K, V> holder) {
+        if (holder.timeout != null) {
+            wheel.cancel(holder.timeout);
+            holder.timeout = null;
+        }
+    }
+
+    private boolean isExpired(Holder<K, V> holder, long now) {
+        return wheel != null && now >= deadline(holder);
+    }
+
+    private long deadline(Holder<K, V> holder) {
+        long deadline = Long.MAX_VALUE;
+        if (expireAfterWriteMillis > 0) {
+            deadline = holder.writeMillis + expireAfterWriteMillis;
+        }
+        if (expireAfterAccessMillis > 0) {
+            deadline = Math.min(deadline, holder.accessMillis + expireAfterAccessMillis);
+        }
+        return deadline;
+    }
+
+    // A cached value and its timestamps; only touched under the cache's lock
+    private static class Holder<K, V> {
+        private final K key;
+        private final V value;
+        private final long writeMillis;
+        private long accessMillis;
+        private HierarchicalTimingWheel.Timeout<Holder<K, V>> timeout;
+
+        private Holder(K key, V value, long now) {
+            this.key = key;
+            this.value = value;
+            this.writeMillis = now;
+            this.accessMillis = now;
+        }
+    }
+
+    public static class Builder<K, V> {
+        private final CacheLoader<K, V> loader;
+        private long maximumWeight;
+        private Weigher<K, V> weigher;
+        private EvictionPolicy<K, ?> policy = new LruPolicy<>();
+        private long expireAfterWriteMillis;
+        private long expireAfterAccessMillis;
+        private long refreshAfterWriteMillis;
+        private Executor executor = ForkJoinPool.commonPool();
+        private Clock clock = Clock.systemUTC();
+        private boolean recordStats;
+        private EvictionListener<K, V> evictionListener;
+
+        private Builder(CacheLoader<K, V> loader) {
+            this.loader = Objects.requireNonNull(loader, "loader");
+        }
+
+        public Builder<K, V> maximumSize(int maximumSize) {
+            return maximumWeight(maximumSize, null);
+        }
+
+        // Bounds the total weight instead of the entry count; a null weigher counts every entry as 1
+        public Builder<K, V> maximumWeight(long maximumWeight, Weigher<K, V> weigher) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        public Builder<K, V> policy(EvictionPolicy<K, ?> policy) {
+            this.policy = Objects.requireNonNull(policy, "policy");
+            return this;
+        }
+
+        // Entries expire this long after they were written
+        public Builder<K, V> expireAfterWrite(Duration duration) {
+            this.expireAfterWriteMillis = positiveMillis(duration);
+            return this;
+        }
+
+        // Entries expire after going this long without being read or written
+        public Builder<K, V> expireAfterAccess(Duration duration) {
+            this.expireAfterAccessMillis = positiveMillis(duration);
+            return this;
+        }
+
+        // Hits on entries older than this reload them in the background
+        public Builder<K, V> refreshAfterWrite(Duration duration) {
+            this.refreshAfterWriteMillis = positiveMillis(duration);
+            return this;
+        }
+
+        // Runs background refreshes; defaults to the common fork-join pool
+        public Builder<K, V> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        public Builder<K, V> clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock");
+            return this;
+        }
+
+        public Builder<K, V> recordStats() {
+            this.recordStats = true;
+            return this;
+        }
+
+        public Builder<K, V> evictionListener(EvictionListener<K, V> evictionListener) {
+            this.evictionListener = evictionListener;
+            return this;
+        }
+
+        public LoadingLRUCache<K, V> build() {
+            if (maximumWeight == 0) {
+                throw new IllegalStateException("Set a maximum size or weight");
+            }
+            return new LoadingLRUCache<>(this);
+        }
+
+        private static long positiveMillis(Duration duration) {
+            long millis = duration.toMillis();
+            if (millis <= 0) {
+                throw new IllegalArgumentException("Duration must be at least 1ms: " + duration);
+            }
+            return millis;
+        }
+    }
+}
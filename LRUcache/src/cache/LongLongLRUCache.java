@@ -0,0 +1,201 @@
+package cache;
+
+import interfaces.LongLongEvictionListener;
+
+import java.util.Arrays;
+
+/**
+ * LRU cache from {@code long} to {@code long} with no boxing and no allocation after
+ * construction.
+ *
+ * Entries live in parallel arrays indexed by entry number: key, value, and the previous and next
+ * entry on the recency list. A linear-probing table of entry numbers, twice the capacity, finds
+ * them by key. An eviction reuses the evicted entry's number for the new key.
+ *
+ * Not thread-safe.
+ */
+public class LongLongLRUCache {
+    private static final int NONE = -1;
+
+    private final long[] keys;
+    private final long[] values;
+    private final int[] prev;
+    private final int[] next;
+    // Entry number + 1 per slot; zero marks an empty slot
+    private final int[] table;
+    private final int tableMask;
+    private final int capacity;
+    private int head = NONE;
+    private int tail = NONE;
+    private int freeList = NONE;
+    private int used;
+    private int size;
+    private LongLongEvictionListener evictionListener;
+
+    public LongLongLRUCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.table = new int[Math.max(2, slots)];
+        this.tableMask = table.length - 1;
+    }
+
+    public void setEvictionListener(LongLongEvictionListener evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    // Returns the value and marks the entry most recently used, or missingValue on a miss
+    public long get(long key, long missingValue) {
+        int slot = find(key);
+        if (slot == NONE) {
+            return missingValue;
+        }
+        int entry = table[slot] - 1;
+        moveToHead(entry);
+        return values[entry];
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) != NONE;
+    }
+
+    public void put(long key, long value) {
+        int slot = find(key);
+        if (slot != NONE) {
+            int entry = table[slot] - 1;
+            values[entry] = value;
+            moveToHead(entry);
+            return;
+        }
+        int entry;
+        if (size == capacity) {
+            entry = tail;
+            long evictedKey = keys[entry];
+            long evictedValue = values[entry];
+            unlink(entry);
+            deleteSlot(slotOf(entry));
+            size--;
+            if (evictionListener != null) {
+                evictionListener.onEviction(evictedKey, evictedValue);
+            }
+        } else if (freeList != NONE) {
+            entry = freeList;
+            freeList = next[entry];
+        } else {
+            entry = used++;
+        }
+        keys[entry] = key;
+        values[entry] = value;
+        linkAtHead(entry);
+        insert(entry);
+        size++;
+    }
+
+    public boolean remove(long key) {
+        int slot = find(key);
+        if (slot == NONE) {
+            return false;
+        }
+        int entry = table[slot] - 1;
+        deleteSlot(slot);
+        unlink(entry);
+        next[entry] = freeList;
+        freeList = entry;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        head = NONE;
+        tail = NONE;
+        freeList = NONE;
+        used = 0;
+        size = 0;
+    }
+
+    private int find(long key) {
+        for (int slot = home(key); ; slot = (slot + 1) & tableMask) {
+            int entry = table[slot] - 1;
+            if (entry == NONE) return NONE;
+            if (keys[entry] == key) return slot;
+        }
+    }
+
+    private int slotOf(int entry) {
+        int slot = home(keys[entry]);
+        while (table[slot] - 1 != entry) {
+            slot = (slot + 1) & tableMask;
+        }
+        return slot;
+    }
+
+    private void insert(int entry) {
+        int slot = home(keys[entry]);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & tableMask;
+        }
+        table[slot] = entry + 1;
+    }
+
+    // Backward-shift deletion keeps every probe chain unbroken without tombstones
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        for (int scan = (hole + 1) & tableMask; table[scan] != 0; scan = (scan + 1) & tableMask) {
+            int home = home(keys[table[scan] - 1]);
+            boolean movable = hole <= scan
+                    ? home <= hole || home > scan
+                    : home <= hole && home > scan;
+            if (movable) {
+                table[hole] = table[scan];
+                hole = scan;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private int home(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & tableMask;
+    }
+
+    private void moveToHead(int entry) {
+        if (head == entry) return;
+        unlink(entry);
+        linkAtHead(entry);
+    }
+
+    private void linkAtHead(int entry) {
+        prev[entry] = NONE;
+        next[entry] = head;
+        if (head != NONE) {
+            prev[head] = entry;
+        } else {
+            tail = entry;
+        }
+        head = entry;
+    }
+
+    private void unlink(int entry) {
+        int before = prev[entry];
+        int after = next[entry];
+        if (before != NONE) next[before] = after;
+        else head = after;
+        if (after != NONE) prev[after] = before;
+        else tail = before;
+    }
+}
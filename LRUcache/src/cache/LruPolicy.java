@@ -0,0 +1,59 @@
+package cache;
+
+import interfaces.EvictionPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain least-recently-used order: one list, hits move to the head, the tail is evicted.
+ */
+public class LruPolicy<K, V> implements EvictionPolicy<K, V> {
+    // Sentinel: head.next is the most recently used entry, head.prev the least
+    private final CacheEntry<K, V> head = EntryLists.newSentinel();
+    private int size;
+
+    @Override
+    public void setCapacity(long capacity) {
+    }
+
+    @Override
+    public void onHit(CacheEntry<K, V> entry) {
+        if (head.next == entry) return;
+        EntryLists.unlink(entry);
+        EntryLists.linkAfter(head, entry);
+    }
+
+    @Override
+    public void onInsert(CacheEntry<K, V> entry) {
+        EntryLists.linkAfter(head, entry);
+        size++;
+    }
+
+    @Override
+    public void onRemove(CacheEntry<K, V> entry) {
+        EntryLists.unlink(entry);
+        size--;
+    }
+
+    @Override
+    public CacheEntry<K, V> selectVictim() {
+        CacheEntry<K, V> eldest = head.prev;
+        onRemove(eldest);
+        return eldest;
+    }
+
+    @Override
+    public void clear() {
+        head.prev = head;
+        head.next = head;
+        size = 0;
+    }
+
+    @Override
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>(size);
+        EntryLists.addKeys(head, keys);
+        return keys;
+    }
+}
@@ -0,0 +1,421 @@
+package cache;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * LRU cache of byte keys and byte values kept outside the Java heap, for large serialized
+ * payloads that would otherwise lengthen GC pauses.
+ *
+ * Memory is a set of direct ByteBuffer slabs. Each slab is cut into equal chunks of one size
+ * class (64 bytes and up, each class 25% larger than the last), and an entry's header, key and
+ * value go into the smallest chunk that holds them. Every size class keeps its own LRU list
+ * threaded through the chunk headers; when a class has no free chunk and no new slab can be
+ * allocated, its least recently used entry is evicted. If a class has no slab at all, one is
+ * taken back from another class by evicting everything in it.
+ *
+ * Eviction is therefore LRU within a size class, as in memcached, not across the whole cache: a
+ * write evicts the oldest entry of its own class even when an entry of another class has gone
+ * unused for longer.
+ *
+ * The key index is an open-addressing table of (hash, chunk address) longs, also off-heap. Heap
+ * usage is a few fixed-size arrays and does not grow with the data.
+ *
+ * Not thread-safe. {@link #get} returns a read-only view of the cached bytes, not a copy; it is
+ * only valid until the entry is next written, removed or evicted.
+ */
+public class OffHeapLRUCache {
+    // Chunk header: hash, key length (-1 when the chunk is free), value length, prev and next chunk
+    private static final int HASH = 0;
+    private static final int KEY_LENGTH = 4;
+    private static final int VALUE_LENGTH = 8;
+    private static final int PREV = 12;
+    private static final int NEXT = 16;
+    private static final int HEADER = 20;
+    private static final int NONE = -1;
+    private static final int ALIGN_SHIFT = 3;
+    private static final int MIN_CHUNK = 64;
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    private final int slabSize;
+    private final int offsetBits;
+    private final ByteBuffer[] slabs;
+    private final ByteBuffer[] readOnlySlabs;
+    private final byte[] slabClass;
+    private int slabsAllocated;
+    private int nextSlabToReclaim;
+
+    private final int[] chunkSizes;
+    private final int[] freeHead;
+    private final int[] lruHead;
+    private final int[] lruTail;
+    private final int[] currentSlab;
+    private final int[] nextOffset;
+
+    private final LongBuffer index;
+    private final int indexMask;
+    private final int maxEntries;
+    private int size;
+    private long evictions;
+
+    public OffHeapLRUCache(long memoryBytes, int maxEntries) {
+        this(memoryBytes, maxEntries, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * @param memoryBytes off-heap memory for keys and values, rounded up to whole slabs
+     * @param maxEntries  most entries held at once; sizes the index
+     * @param slabSize    bytes per slab, a power of two; also the largest entry that fits
+     */
+    public OffHeapLRUCache(long memoryBytes, int maxEntries, int slabSize) {
+        if (Integer.bitCount(slabSize) != 1 || slabSize < MIN_CHUNK) {
+            throw new IllegalArgumentException("Slab size must be a power of two of at least " + MIN_CHUNK + ": " + slabSize);
+        }
+        if (maxEntries <= 0 || maxEntries > 1 << 26) {
+            throw new IllegalArgumentException("Max entries out of range: " + maxEntries);
+        }
+        this.slabSize = slabSize;
+        this.offsetBits = Integer.numberOfTrailingZeros(slabSize) - ALIGN_SHIFT;
+        long slabCount = Math.max(1, (memoryBytes + slabSize - 1) / slabSize);
+        if (slabCount > 1L << (31 - offsetBits)) {
+            throw new IllegalArgumentException("Too many slabs; use a larger slab size for " + memoryBytes + " bytes");
+        }
+        this.slabs = new ByteBuffer[(int) slabCount];
+        this.readOnlySlabs = new ByteBuffer[(int) slabCount];
+        this.slabClass = new byte[(int) slabCount];
+
+        int[] sizes = new int[64];
+        int classes = 0;
+        for (int chunk = MIN_CHUNK; chunk < slabSize; chunk = (int) (chunk * 1.25 + 7) & ~7) {
+            sizes[classes++] = chunk;
+        }
+        sizes[classes++] = slabSize;
+        this.chunkSizes = Arrays.copyOf(sizes, classes);
+        this.freeHead = filled(classes);
+        this.lruHead = filled(classes);
+        this.lruTail = filled(classes);
+        this.currentSlab = filled(classes);
+        this.nextOffset = new int[classes];
+
+        this.maxEntries = maxEntries;
+        int slots = Integer.highestOneBit(maxEntries * 2 - 1) << 1;
+        this.index = ByteBuffer.allocateDirect(slots * Long.BYTES).asLongBuffer();
+        this.indexMask = slots - 1;
+    }
+
+    /**
+     * Stores a copy of the value's remaining bytes, evicting least recently used entries of the
+     * same size class if there is no room. The value buffer's position is not changed.
+     *
+     * @throws IllegalArgumentException if the key and value do not fit in one slab
+     */
+    public void put(byte[] key, ByteBuffer value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        int needed = HEADER + key.length + value.remaining();
+        int sizeClass = classFor(needed);
+        int hash = hash(key);
+        int slot = find(key, hash);
+        if (slot != NONE) {
+            int address = addressOf(index.get(slot));
+            if (slabClass[slabOf(address)] == sizeClass) {
+                writeValue(address, key.length, value);
+                touch(sizeClass, address);
+                return;
+            }
+            removeAt(slot, address);
+        }
+        if (size >= maxEntries) {
+            evictOne(sizeClass);
+        }
+        int address = allocate(sizeClass);
+        ByteBuffer slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        slab.putInt(offset + HASH, hash);
+        slab.putInt(offset + KEY_LENGTH, key.length);
+        slab.put(offset + HEADER, key);
+        writeValue(address, key.length, value);
+        linkAtHead(sizeClass, address);
+        insert(hash, address);
+        size++;
+    }
+
+    public void put(byte[] key, byte[] value) {
+        put(key, ByteBuffer.wrap(value));
+    }
+
+    // Read-only view of the cached value, or null; marks the entry most recently used
+    public ByteBuffer get(byte[] key) {
+        int slot = find(key, hash(key));
+        if (slot == NONE) {
+            return null;
+        }
+        int address = addressOf(index.get(slot));
+        int slab = slabOf(address);
+        int offset = offsetOf(address);
+        touch(slabClass[slab], address);
+        ByteBuffer data = slabs[slab];
+        return readOnlySlabs[slab].slice(offset + HEADER + data.getInt(offset + KEY_LENGTH),
+                data.getInt(offset + VALUE_LENGTH));
+    }
+
+    public boolean containsKey(byte[] key) {
+        return find(key, hash(key)) != NONE;
+    }
+
+    public boolean remove(byte[] key) {
+        int slot = find(key, hash(key));
+        if (slot == NONE) {
+            return false;
+        }
+        removeAt(slot, addressOf(index.get(slot)));
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    // Off-heap bytes allocated so far for keys and values
+    public long getAllocatedBytes() {
+        return (long) slabsAllocated * slabSize;
+    }
+
+    public long getMemoryCapacity() {
+        return (long) slabs.length * slabSize;
+    }
+
+    private int allocate(int sizeClass) {
+        while (true) {
+            int free = freeHead[sizeClass];
+            if (free != NONE) {
+                freeHead[sizeClass] = getInt(free, NEXT);
+                return free;
+            }
+            int chunk = chunkSizes[sizeClass];
+            int slab = currentSlab[sizeClass];
+            if (slab != NONE && nextOffset[sizeClass] + chunk <= slabSize) {
+                int address = address(slab, nextOffset[sizeClass]);
+                nextOffset[sizeClass] += chunk;
+                return address;
+            }
+            if (slabsAllocated < slabs.length) {
+                slab = slabsAllocated++;
+                slabs[slab] = ByteBuffer.allocateDirect(slabSize);
+                readOnlySlabs[slab] = slabs[slab].asReadOnlyBuffer();
+                assignSlab(slab, sizeClass);
+            } else if (lruTail[sizeClass] != NONE) {
+                evict(lruTail[sizeClass]);
+            } else {
+                reassignSlab(sizeClass);
+            }
+        }
+    }
+
+    private void assignSlab(int slab, int sizeClass) {
+        slabClass[slab] = (byte) sizeClass;
+        currentSlab[sizeClass] = slab;
+        nextOffset[sizeClass] = 0;
+    }
+
+    // Empties a slab of another class, round-robin, and gives it to this class
+    private void reassignSlab(int sizeClass) {
+        int slab = nextSlabToReclaim;
+        nextSlabToReclaim = (nextSlabToReclaim + 1) % slabsAllocated;
+        int owner = slabClass[slab];
+        int chunk = chunkSizes[owner];
+        int used = currentSlab[owner] == slab ? nextOffset[owner] : slabSize - slabSize % chunk;
+        for (int offset = 0; offset + chunk <= used; offset += chunk) {
+            int address = address(slab, offset);
+            if (getInt(address, KEY_LENGTH) != NONE) {
+                evict(address);
+            }
+        }
+        // Drop the slab's chunks from the old class's free list
+        int kept = NONE;
+        for (int free = freeHead[owner]; free != NONE; ) {
+            int next = getInt(free, NEXT);
+            if (slabOf(free) != slab) {
+                putInt(free, NEXT, kept);
+                kept = free;
+            }
+            free = next;
+        }
+        freeHead[owner] = kept;
+        if (currentSlab[owner] == slab) {
+            currentSlab[owner] = NONE;
+        }
+        assignSlab(slab, sizeClass);
+    }
+
+    // Makes room for one more entry, preferring the class about to be written
+    private void evictOne(int sizeClass) {
+        if (lruTail[sizeClass] != NONE) {
+            evict(lruTail[sizeClass]);
+            return;
+        }
+        for (int tail : lruTail) {
+            if (tail != NONE) {
+                evict(tail);
+                return;
+            }
+        }
+    }
+
+    private void evict(int address) {
+        int hash = getInt(address, HASH);
+        int slot = hash & indexMask;
+        while (addressOf(index.get(slot)) != address) {
+            slot = (slot + 1) & indexMask;
+        }
+        removeAt(slot, address);
+        evictions++;
+    }
+
+    private void removeAt(int slot, int address) {
+        deleteSlot(slot);
+        int sizeClass = slabClass[slabOf(address)];
+        unlink(sizeClass, address);
+        putInt(address, KEY_LENGTH, NONE);
+        putInt(address, NEXT, freeHead[sizeClass]);
+        freeHead[sizeClass] = address;
+        size--;
+    }
+
+    private void writeValue(int address, int keyLength, ByteBuffer value) {
+        ByteBuffer slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        slab.putInt(offset + VALUE_LENGTH, value.remaining());
+        slab.put(offset + HEADER + keyLength, value, value.position(), value.remaining());
+    }
+
+    private int classFor(int bytes) {
+        for (int sizeClass = 0; sizeClass < chunkSizes.length; sizeClass++) {
+            if (chunkSizes[sizeClass] >= bytes) return sizeClass;
+        }
+        throw new IllegalArgumentException("Entry of " + bytes + " bytes does not fit in a " + slabSize + "-byte slab");
+    }
+
+    // Index: linear probing over (hash << 32 | address + 1); zero marks an empty slot
+
+    private int find(byte[] key, int hash) {
+        for (int slot = hash & indexMask; ; slot = (slot + 1) & indexMask) {
+            long entry = index.get(slot);
+            if (entry == 0) return NONE;
+            if ((int) (entry >>> 32) == hash && keyEquals(addressOf(entry), key)) return slot;
+        }
+    }
+
+    private void insert(int hash, int address) {
+        int slot = hash & indexMask;
+        while (index.get(slot) != 0) {
+            slot = (slot + 1) & indexMask;
+        }
+        index.put(slot, ((long) hash << 32) | (address + 1L));
+    }
+
+    // Backward-shift deletion keeps every probe chain unbroken without tombstones
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & indexMask; ; next = (next + 1) & indexMask) {
+            long entry = index.get(next);
+            if (entry == 0) break;
+            int home = (int) (entry >>> 32) & indexMask;
+            boolean movable = hole <= next
+                    ? home <= hole || home > next
+                    : home <= hole && home > next;
+            if (movable) {
+                index.put(hole, entry);
+                hole = next;
+            }
+        }
+        index.put(hole, 0);
+    }
+
+    private boolean keyEquals(int address, byte[] key) {
+        ByteBuffer slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        if (slab.getInt(offset + KEY_LENGTH) != key.length) return false;
+        int base = offset + HEADER;
+        for (int i = 0; i < key.length; i++) {
+            if (slab.get(base + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    private static int addressOf(long indexEntry) {
+        return (int) indexEntry - 1;
+    }
+
+    static int hash(byte[] key) {
+        int hash = Arrays.hashCode(key) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    // Per-class LRU lists through the chunk headers; head is the most recently used
+
+    private void touch(int sizeClass, int address) {
+        if (lruHead[sizeClass] == address) return;
+        unlink(sizeClass, address);
+        linkAtHead(sizeClass, address);
+    }
+
+    private void linkAtHead(int sizeClass, int address) {
+        int head = lruHead[sizeClass];
+        putInt(address, PREV, NONE);
+        putInt(address, NEXT, head);
+        if (head != NONE) {
+            putInt(head, PREV, address);
+        } else {
+            lruTail[sizeClass] = address;
+        }
+        lruHead[sizeClass] = address;
+    }
+
+    private void unlink(int sizeClass, int address) {
+        int prev = getInt(address, PREV);
+        int next = getInt(address, NEXT);
+        if (prev != NONE) putInt(prev, NEXT, next);
+        else lruHead[sizeClass] = next;
+        if (next != NONE) putInt(next, PREV, prev);
+        else lruTail[sizeClass] = prev;
+    }
+
+    // Chunk addresses: slab number above the offset in 8-byte units
+
+    private int address(int slab, int offset) {
+        return (slab << offsetBits) | (offset >>> ALIGN_SHIFT);
+    }
+
+    private int slabOf(int address) {
+        return address >>> offsetBits;
+    }
+
+    private int offsetOf(int address) {
+        return (address & ((1 << offsetBits) - 1)) << ALIGN_SHIFT;
+    }
+
+    private int getInt(int address, int field) {
+        return slabs[slabOf(address)].getInt(offsetOf(address) + field);
+    }
+
+    private void putInt(int address, int field, int value) {
+        slabs[slabOf(address)].putInt(offsetOf(address) + field, value);
+    }
+
+    private static int[] filled(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, NONE);
+        return array;
+    }
+}
@@ -0,0 +1,153 @@
+package cache;
+
+import interfaces.Serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializers for common key and value types. Fixed-size types are written raw; strings and
+ * byte arrays are prefixed with their length.
+ */
+public final class Serializers {
+
+    public static final Serializer<Long> LONG = new Serializer<>() {
+        @Override
+        public int size(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, ByteBuffer out) {
+            out.putLong(value);
+        }
+
+        @Override
+        public Long read(ByteBuffer in) {
+            return in.getLong();
+        }
+    };
+
+    public static final Serializer<Integer> INTEGER = new Serializer<>() {
+        @Override
+        public int size(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, ByteBuffer out) {
+            out.putInt(value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer in) {
+            return in.getInt();
+        }
+    };
+
+    public static final Serializer<Double> DOUBLE = new Serializer<>() {
+        @Override
+        public int size(Double value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(Double value, ByteBuffer out) {
+            out.putDouble(value);
+        }
+
+        @Override
+        public Double read(ByteBuffer in) {
+            return in.getDouble();
+        }
+    };
+
+    public static final Serializer<byte[]> BYTES = new Serializer<>() {
+        @Override
+        public int size(byte[] value) {
+            return Integer.BYTES + value.length;
+        }
+
+        @Override
+        public void write(byte[] value, ByteBuffer out) {
+            out.putInt(value.length);
+            out.put(value);
+        }
+
+        @Override
+        public byte[] read(ByteBuffer in) {
+            byte[] value = new byte[in.getInt()];
+            in.get(value);
+            return value;
+        }
+    };
+
+    // UTF-8 with a length prefix, encoded straight into the buffer
+    public static final Serializer<String> STRING = new Serializer<>() {
+        @Override
+        public int size(String value) {
+            return Integer.BYTES + utf8Length(value);
+        }
+
+        @Override
+        public void write(String value, ByteBuffer out) {
+            out.putInt(utf8Length(value));
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    out.put((byte) c);
+                } else if (c < 0x800) {
+                    out.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                            .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    out.put((byte) '?');
+                } else {
+                    out.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+                }
+            }
+        }
+
+        @Override
+        public String read(ByteBuffer in) {
+            int length = in.getInt();
+            byte[] bytes = SCRATCH.get();
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+                SCRATCH.set(bytes);
+            }
+            in.get(bytes, 0, length);
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    };
+
+    // Reused by STRING.read, so a restore does not leave a garbage array behind per string
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private Serializers() {
+    }
+
+    // Encoded length without encoding, so sizing a snapshot does not allocate
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // Lone surrogates are encoded as '?'
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,170 @@
+package cache;
+
+import interfaces.EvictionPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * W-TinyLFU: recency for new arrivals, frequency for everything that stays.
+ *
+ * New entries go to a small LRU admission window (1% of the capacity). The rest of the cache is
+ * a segmented LRU: entries start on probation and move to the protected segment (80% of the main
+ * region) when hit again. When the cache is full, the window's oldest entry competes with the
+ * oldest probation entry, and whichever a {@link FrequencySketch} says was used less often is
+ * evicted. A burst of one-hit keys therefore cycles through the window without flushing the
+ * hot set, while a key that becomes popular still gets in.
+ *
+ * Region sizes are in weight, so the split holds for weighted caches too.
+ */
+public class WTinyLfuPolicy<K, V> implements EvictionPolicy<K, V> {
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    // The sketch starts at this many entries and grows with the cache
+    private static final int INITIAL_SKETCH_ENTRIES = 1 << 16;
+
+    // Sentinels: next is the most recently used entry of each queue, prev the least
+    private final CacheEntry<K, V> window = EntryLists.newSentinel();
+    private final CacheEntry<K, V> probation = EntryLists.newSentinel();
+    private final CacheEntry<K, V> protectedQueue = EntryLists.newSentinel();
+    private final FrequencySketch sketch = new FrequencySketch();
+    private long windowMax;
+    private long protectedMax;
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+    private int entries;
+    private int sketchedEntries;
+
+    @Override
+    public void setCapacity(long capacity) {
+        windowMax = Math.max(1, capacity / 100);
+        protectedMax = (capacity - windowMax) * 8 / 10;
+        // One over the capacity: an insert is counted before its eviction, and must not regrow (and so reset) the sketch
+        sketchedEntries = (int) Math.max(sketchedEntries, Math.min(capacity + 1, INITIAL_SKETCH_ENTRIES));
+        sketch.ensureCapacity(sketchedEntries);
+        shrinkWindow();
+        demoteProtectedOverflow();
+    }
+
+    @Override
+    public void recordAccess(K key) {
+        sketch.increment(key);
+    }
+
+    @Override
+    public void onHit(CacheEntry<K, V> entry) {
+        switch (entry.region) {
+            case WINDOW -> EntryLists.moveAfter(window, entry);
+            case PROBATION -> {
+                probationWeight -= entry.weight;
+                moveTo(entry, protectedQueue, PROTECTED);
+                protectedWeight += entry.weight;
+                demoteProtectedOverflow();
+            }
+            default -> EntryLists.moveAfter(protectedQueue, entry);
+        }
+    }
+
+    @Override
+    public void onWeightChange(CacheEntry<K, V> entry, int oldWeight) {
+        adjustWeight(entry.region, entry.weight - oldWeight);
+        onHit(entry);
+        shrinkWindow();
+    }
+
+    @Override
+    public void onInsert(CacheEntry<K, V> entry) {
+        entry.region = WINDOW;
+        EntryLists.linkAfter(window, entry);
+        windowWeight += entry.weight;
+        if (++entries > sketchedEntries) {
+            sketchedEntries = entries * 2;
+            sketch.ensureCapacity(sketchedEntries);
+        }
+        // While the cache is filling up there is no competition: the window's overflow goes straight to probation
+        shrinkWindow();
+    }
+
+    @Override
+    public void onRemove(CacheEntry<K, V> entry) {
+        EntryLists.unlink(entry);
+        adjustWeight(entry.region, -entry.weight);
+        entries--;
+    }
+
+    @Override
+    public CacheEntry<K, V> selectVictim() {
+        CacheEntry<K, V> victim = probation.next != probation ? probation.prev
+                : protectedQueue.next != protectedQueue ? protectedQueue.prev
+                : null;
+        // Room is taken from the window only once it is full; until then the main region pays
+        if (window.next != window && (windowWeight >= windowMax || victim == null)) {
+            CacheEntry<K, V> candidate = window.prev;
+            if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                onRemove(candidate);
+                return candidate;
+            }
+            // The candidate wins admission and takes the victim's place in the main region
+            windowWeight -= candidate.weight;
+            moveTo(candidate, probation, PROBATION);
+            probationWeight += candidate.weight;
+        }
+        onRemove(victim);
+        return victim;
+    }
+
+    @Override
+    public void clear() {
+        for (CacheEntry<K, V> sentinel : List.of(window, probation, protectedQueue)) {
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+        }
+        windowWeight = 0;
+        probationWeight = 0;
+        protectedWeight = 0;
+        entries = 0;
+        sketch.clear();
+    }
+
+    @Override
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>(entries);
+        EntryLists.addKeys(protectedQueue, keys);
+        EntryLists.addKeys(window, keys);
+        EntryLists.addKeys(probation, keys);
+        return keys;
+    }
+
+    private void adjustWeight(byte region, long delta) {
+        switch (region) {
+            case WINDOW -> windowWeight += delta;
+            case PROBATION -> probationWeight += delta;
+            default -> protectedWeight += delta;
+        }
+    }
+
+    private void shrinkWindow() {
+        while (windowWeight > windowMax && window.next != window) {
+            CacheEntry<K, V> eldest = window.prev;
+            windowWeight -= eldest.weight;
+            moveTo(eldest, probation, PROBATION);
+            probationWeight += eldest.weight;
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedWeight > protectedMax && protectedQueue.next != protectedQueue) {
+            CacheEntry<K, V> eldest = protectedQueue.prev;
+            protectedWeight -= eldest.weight;
+            moveTo(eldest, probation, PROBATION);
+            probationWeight += eldest.weight;
+        }
+    }
+
+    private void moveTo(CacheEntry<K, V> entry, CacheEntry<K, V> queue, byte region) {
+        entry.region = region;
+        EntryLists.moveAfter(queue, entry);
+    }
+}
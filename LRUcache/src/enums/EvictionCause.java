@@ -0,0 +1,8 @@
+package enums;
+
+public enum EvictionCause {
+    // Dropped to stay within the maximum size or weight
+    SIZE,
+    // Outlived its time-to-live or went unread for too long
+    EXPIRED
+}
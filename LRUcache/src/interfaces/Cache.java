@@ -0,0 +1,19 @@
+package interfaces;
+
+/**
+ * Bounded key-value cache. Null keys and values are not allowed, so {@code get} returning null
+ * always means a miss.
+ */
+public interface Cache<K, V> {
+
+    V get(K key);
+
+    // Returns the previous value for the key, or null
+    V put(K key, V value);
+
+    V remove(K key);
+
+    int size();
+
+    int getCapacity();
+}
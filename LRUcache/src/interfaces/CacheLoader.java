@@ -0,0 +1,9 @@
+package interfaces;
+
+/**
+ * Computes the value for a missing or stale key, typically by calling the backing store.
+ * Returning null means there is no value and nothing is cached.
+ */
+public interface CacheLoader<K, V> {
+    V load(K key) throws Exception;
+}
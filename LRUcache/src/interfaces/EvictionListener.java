@@ -0,0 +1,9 @@
+package interfaces;
+
+/**
+ * Told about every entry a cache drops to stay within its capacity. Explicit removals and
+ * overwrites are not evictions and are not reported.
+ */
+public interface EvictionListener<K, V> {
+    void onEviction(K key, V value);
+}
@@ -0,0 +1,41 @@
+package interfaces;
+
+import cache.CacheEntry;
+
+import java.util.List;
+
+/**
+ * Decides which entry an {@link cache.LRUCache} gives up when it is full. The cache owns the
+ * entries and tells the policy about every hit, insert and removal; the policy only orders them.
+ */
+public interface EvictionPolicy<K, V> {
+
+    /**
+     * Called with the cache's maximum total weight before first use and whenever it changes.
+     * Without a weigher every entry weighs 1, so this is the maximum entry count.
+     */
+    void setCapacity(long capacity);
+
+    // Every lookup and write, hit or miss, so frequency-based policies can learn popularity
+    default void recordAccess(K key) {
+    }
+
+    void onHit(CacheEntry<K, V> entry);
+
+    void onInsert(CacheEntry<K, V> entry);
+
+    void onRemove(CacheEntry<K, V> entry);
+
+    // The entry was overwritten with a value of a different weight; it also counts as a hit
+    default void onWeightChange(CacheEntry<K, V> entry, int oldWeight) {
+        onHit(entry);
+    }
+
+    // Picks the entry to evict to make room for one more, and forgets it
+    CacheEntry<K, V> selectVictim();
+
+    void clear();
+
+    // Keys from the one the policy most wants to keep to the next likely victim
+    List<K> keys();
+}
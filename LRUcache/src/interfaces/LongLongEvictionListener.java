@@ -0,0 +1,6 @@
+package interfaces;
+
+// EvictionListener for caches of primitive longs, so reporting an eviction does not box
+public interface LongLongEvictionListener {
+    void onEviction(long key, long value);
+}
@@ -0,0 +1,16 @@
+package interfaces;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary form of a cache key or value, used by snapshots. {@link #write} must put exactly
+ * {@link #size} bytes, and {@link #read} must consume exactly what {@code write} put.
+ */
+public interface Serializer<T> {
+
+    int size(T value);
+
+    void write(T value, ByteBuffer out);
+
+    T read(ByteBuffer in);
+}
@@ -0,0 +1,9 @@
+package interfaces;
+
+/**
+ * Relative size of an entry, e.g. its value's length in bytes, for caches bounded by total
+ * weight instead of entry count. Must not be negative, and is read once when the entry is written.
+ */
+public interface Weigher<K, V> {
+    int weigh(K key, V value);
+}
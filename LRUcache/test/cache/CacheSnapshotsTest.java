@@ -0,0 +1,106 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CacheSnapshotsTest {
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    @TempDir
+    Path directory;
+
+    private static LRUCache<Long, String> filled(int capacity, String prefix) {
+        LRUCache<Long, String> cache = new LRUCache<>(capacity);
+        for (long key = 1; key <= capacity; key++) {
+            cache.put(key, prefix + key);
+        }
+        return cache;
+    }
+
+    @Test
+    void restoreRebuildsKeysValuesAndRecencyOrder() throws IOException {
+        LRUCache<Long, String> cache = filled(4, "v");
+        cache.get(2L);
+        Path file = directory.resolve("cache.snapshot");
+        long bytes = cache.snapshot(file, Serializers.LONG, Serializers.STRING, SAME_THREAD).join();
+        assertEquals(Files.size(file), bytes);
+
+        LRUCache<Long, String> restored = new LRUCache<>(4);
+        assertEquals(4, restored.restore(file, Serializers.LONG, Serializers.STRING));
+
+        assertEquals(List.of(2L, 4L, 3L, 1L), restored.keys());
+        for (long key = 1; key <= 4; key++) {
+            assertEquals("v" + key, restored.peek(key));
+        }
+    }
+
+    @Test
+    void restoreIntoASmallerCacheKeepsTheMostRecentEntries() throws IOException {
+        Path file = directory.resolve("cache.snapshot");
+        filled(4, "v").snapshot(file, Serializers.LONG, Serializers.STRING, SAME_THREAD).join();
+
+        LRUCache<Long, String> restored = new LRUCache<>(2);
+        restored.restore(file, Serializers.LONG, Serializers.STRING);
+
+        assertEquals(List.of(4L, 3L), restored.keys());
+    }
+
+    @Test
+    void snapshotReplacesThePreviousFileAtomically() throws IOException {
+        Path file = directory.resolve("cache.snapshot");
+        filled(4, "old").snapshot(file, Serializers.LONG, Serializers.STRING, SAME_THREAD).join();
+        filled(2, "new").snapshot(file, Serializers.LONG, Serializers.STRING, SAME_THREAD).join();
+
+        // Only the target remains; the temporary file was moved over it, not copied
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+        assertFalse(Files.exists(file.resolveSibling("cache.snapshot.tmp")));
+        LRUCache<Long, String> restored = new LRUCache<>(4);
+        assertEquals(2, restored.restore(file, Serializers.LONG, Serializers.STRING));
+        assertEquals(List.of(2L, 1L), restored.keys());
+        assertEquals("new1", restored.peek(1L));
+    }
+
+    @Test
+    void emptyCacheRoundTrips() throws IOException {
+        Path file = directory.resolve("cache.snapshot");
+        new LRUCache<Long, String>(4).snapshot(file, Serializers.LONG, Serializers.STRING, SAME_THREAD).join();
+
+        LRUCache<Long, String> restored = new LRUCache<>(4);
+        assertEquals(0, restored.restore(file, Serializers.LONG, Serializers.STRING));
+        assertEquals(0, restored.size());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() throws IOException {
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[32]);
+        LRUCache<Long, String> cache = new LRUCache<>(4);
+
+        assertThrows(IllegalStateException.class, () -> cache.restore(file, Serializers.LONG, Serializers.STRING));
+    }
+
+    @Test
+    void rejectsTruncatedSnapshots() throws IOException {
+        Path file = directory.resolve("cache.snapshot");
+        filled(4, "v").snapshot(file, Serializers.LONG, Serializers.STRING, SAME_THREAD).join();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        LRUCache<Long, String> cache = new LRUCache<>(4);
+
+        assertThrows(IllegalStateException.class, () -> cache.restore(file, Serializers.LONG, Serializers.STRING));
+    }
+}
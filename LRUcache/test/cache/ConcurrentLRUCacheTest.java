@@ -0,0 +1,110 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLRUCacheTest {
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 20_000;
+    private static final int CAPACITY = 1_000;
+
+    @Test
+    void singleThreadEvictsTheLeastRecentlyUsedEntry() {
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(3);
+        cache.put(1, "v1");
+        cache.put(2, "v2");
+        cache.put(3, "v3");
+        cache.cleanUp();
+        cache.get(1);
+        cache.cleanUp();
+        cache.put(4, "v4");
+        cache.cleanUp();
+
+        assertEquals("v1", cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void concurrentTrafficKeepsTheBoundAndLosesNoEntry() throws InterruptedException {
+        ConcurrentLRUCache<Long, Long> cache = new ConcurrentLRUCache<>(CAPACITY);
+        Set<Long> evicted = ConcurrentHashMap.newKeySet();
+        AtomicInteger evictedTwice = new AtomicInteger();
+        cache.setEvictionListener((key, value) -> {
+            if (!evicted.add(key)) evictedTwice.incrementAndGet();
+        });
+        Set<Long> removed = ConcurrentHashMap.newKeySet();
+        AtomicLong wrongValues = new AtomicLong();
+
+        // Each thread writes its own keys, so every key is inserted exactly once
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long base = (long) t * KEYS_PER_THREAD;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(base);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                    long key = base + i;
+                    cache.put(key, key);
+                    for (int read = 0; read < 4; read++) {
+                        long recent = base + Math.max(0, i - random.nextInt(2 * CAPACITY / THREADS));
+                        Long value = cache.get(recent);
+                        if (value != null && value != recent) wrongValues.incrementAndGet();
+                    }
+                    if (i % 10 == 0) {
+                        long victim = base + random.nextInt(i + 1);
+                        if (cache.remove(victim) != null) removed.add(victim);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        cache.cleanUp();
+
+        assertEquals(0, wrongValues.get());
+        assertEquals(0, evictedTwice.get());
+        assertTrue(cache.size() <= CAPACITY, "size " + cache.size());
+        int remaining = 0;
+        for (long key = 0; key < (long) THREADS * KEYS_PER_THREAD; key++) {
+            boolean present = cache.containsKey(key);
+            int outcomes = (present ? 1 : 0) + (evicted.contains(key) ? 1 : 0) + (removed.contains(key) ? 1 : 0);
+            assertEquals(1, outcomes, "key " + key);
+            if (present) remaining++;
+        }
+        assertEquals(cache.size(), remaining);
+
+        // Every surviving node is still on the recency list, so fresh keys push all of them out
+        long fresh = (long) THREADS * KEYS_PER_THREAD;
+        for (long key = fresh; key < fresh + CAPACITY; key++) {
+            cache.put(key, key);
+        }
+        cache.cleanUp();
+        assertEquals(CAPACITY, cache.size());
+        for (long key = 0; key < fresh; key++) {
+            assertFalse(cache.containsKey(key), "key " + key);
+        }
+    }
+}
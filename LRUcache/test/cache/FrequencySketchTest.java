@@ -0,0 +1,50 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch();
+        sketch.ensureCapacity(1024);
+        for (int i = 1; i <= 20; i++) {
+            sketch.increment("hot");
+            assertEquals(Math.min(i, 15), sketch.frequency("hot"));
+        }
+    }
+
+    @Test
+    void countsHalveAfterTenAdditionsPerEntry() {
+        FrequencySketch sketch = new FrequencySketch();
+        sketch.ensureCapacity(1024);
+        // Saturating takes 15 additions; later increments of a saturated key add nothing
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("hot");
+        }
+        int sampleSize = 10 * 1024;
+        for (int i = 0; i < sampleSize - 15 - 1; i++) {
+            sketch.increment(i);
+        }
+        assertEquals(15, sketch.frequency("hot"));
+
+        sketch.increment(-1);
+        assertEquals(7, sketch.frequency("hot"));
+    }
+
+    @Test
+    void clearAndResizeDropCounts() {
+        FrequencySketch sketch = new FrequencySketch();
+        sketch.ensureCapacity(1024);
+        sketch.increment("a");
+        sketch.increment("a");
+        sketch.clear();
+        assertEquals(0, sketch.frequency("a"));
+
+        sketch.increment("a");
+        sketch.ensureCapacity(1 << 16);
+        assertEquals(0, sketch.frequency("a"));
+    }
+}
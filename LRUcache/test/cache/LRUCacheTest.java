@@ -0,0 +1,121 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LRUCacheTest {
+
+    private static LRUCache<Integer, String> filled(int capacity) {
+        LRUCache<Integer, String> cache = new LRUCache<>(capacity);
+        for (int key = 1; key <= capacity; key++) {
+            cache.put(key, "v" + key);
+        }
+        return cache;
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        LRUCache<Integer, String> cache = filled(3);
+        cache.put(4, "v4");
+
+        assertNull(cache.get(1));
+        assertEquals(List.of(4, 3, 2), cache.keys());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void getPromotesTheEntry() {
+        LRUCache<Integer, String> cache = filled(3);
+        assertEquals("v1", cache.get(1));
+        cache.put(4, "v4");
+
+        assertEquals("v1", cache.peek(1));
+        assertNull(cache.peek(2));
+        assertEquals(List.of(4, 1, 3), cache.keys());
+    }
+
+    @Test
+    void peekDoesNotPromote() {
+        LRUCache<Integer, String> cache = filled(3);
+        assertEquals("v1", cache.peek(1));
+        cache.put(4, "v4");
+
+        assertNull(cache.peek(1));
+    }
+
+    @Test
+    void overwriteReplacesTheValueAndPromotes() {
+        LRUCache<Integer, String> cache = filled(3);
+        assertEquals("v1", cache.put(1, "w1"));
+        cache.put(4, "v4");
+
+        assertEquals("w1", cache.peek(1));
+        assertNull(cache.peek(2));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void removedOrEvictedEntryIsReusedForTheNextKey() {
+        List<CacheEntry<Integer, String>> inserted = new ArrayList<>();
+        LRUCache<Integer, String> cache = new LRUCache<>(2, new LruPolicy<>() {
+            @Override
+            public void onInsert(CacheEntry<Integer, String> entry) {
+                inserted.add(entry);
+                super.onInsert(entry);
+            }
+        });
+        cache.put(1, "v1");
+        cache.put(2, "v2");
+        assertEquals("v1", cache.remove(1));
+        cache.put(3, "v3");
+        assertSame(inserted.get(0), inserted.get(2));
+
+        // Evicts 2, whose entry then holds 4
+        cache.put(4, "v4");
+        assertSame(inserted.get(1), inserted.get(3));
+        assertEquals(4, inserted.get(3).getKey());
+        assertEquals("v4", inserted.get(3).getValue());
+        assertNull(cache.peek(1));
+        assertNull(cache.peek(2));
+        assertEquals(List.of(4, 3), cache.keys());
+    }
+
+    @Test
+    void evictionListenerSeesEvictionsOnly() {
+        LRUCache<Integer, String> cache = filled(2);
+        List<String> evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key + "=" + value));
+
+        cache.remove(1);
+        cache.put(2, "w2");
+        cache.put(3, "v3");
+        cache.put(4, "v4");
+
+        assertEquals(List.of("2=w2"), evicted);
+    }
+
+    @Test
+    void shrinkingEvictsTheOldestEntries() {
+        LRUCache<Integer, String> cache = filled(4);
+        List<Integer> evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+        cache.setCapacity(2);
+
+        assertEquals(List.of(1, 2), evicted);
+        assertEquals(List.of(4, 3), cache.keys());
+    }
+
+    @Test
+    void nullKeysAndValuesAreRejected() {
+        LRUCache<Integer, String> cache = new LRUCache<>(2);
+        assertThrows(NullPointerException.class, () -> cache.put(null, "v"));
+        assertThrows(NullPointerException.class, () -> cache.put(1, null));
+    }
+}
@@ -0,0 +1,204 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadingLRUCacheTest {
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    // Background refreshes wait here until the test runs them
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+    private String load(String key) {
+        return key + "-" + loads.incrementAndGet();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LoadingLRUCache<String, String> cache = LoadingLRUCache.<String, String>builder(key -> {
+            entered.countDown();
+            release.await();
+            return load(key);
+        }).maximumSize(10).build();
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get("k")));
+            }
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("k-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void staleHitReturnsOldValueAndRefreshesInBackground() {
+        LoadingLRUCache<String, String> cache = refreshingCache();
+        assertEquals("k-1", cache.get("k"));
+
+        clock.advance(Duration.ofSeconds(6));
+        assertEquals("k-1", cache.get("k"));
+        assertEquals(1, refreshes.size());
+        // A second stale hit does not start another refresh while one is pending
+        cache.get("k");
+        assertEquals(1, refreshes.size());
+
+        refreshes.poll().run();
+        assertEquals("k-2", cache.get("k"));
+    }
+
+    @Test
+    void refreshDoesNotResurrectRemovedKey() {
+        LoadingLRUCache<String, String> cache = refreshingCache();
+        cache.get("k");
+        clock.advance(Duration.ofSeconds(6));
+        cache.get("k");
+
+        cache.remove("k");
+        refreshes.poll().run();
+        assertNull(cache.getIfPresent("k"));
+    }
+
+    @Test
+    void refreshDoesNotOverwriteNewerPut() {
+        LoadingLRUCache<String, String> cache = refreshingCache();
+        cache.get("k");
+        clock.advance(Duration.ofSeconds(6));
+        cache.get("k");
+
+        cache.put("k", "manual");
+        refreshes.poll().run();
+        assertEquals("manual", cache.getIfPresent("k"));
+    }
+
+    @Test
+    void missDoesNotOverwritePutMadeWhileLoading() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LoadingLRUCache<String, String> cache = LoadingLRUCache.<String, String>builder(key -> {
+            entered.countDown();
+            release.await();
+            return load(key);
+        }).maximumSize(10).build();
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> loaded = caller.submit(() -> cache.get("k"));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            cache.put("k", "manual");
+            release.countDown();
+            assertEquals("k-1", loaded.get(5, TimeUnit.SECONDS));
+        } finally {
+            caller.shutdownNow();
+        }
+        assertEquals("manual", cache.getIfPresent("k"));
+    }
+
+    @Test
+    void entriesExpireAfterWrite() {
+        LoadingLRUCache<String, String> cache = LoadingLRUCache.<String, String>builder(this::load)
+                .maximumSize(10).expireAfterWrite(Duration.ofMinutes(1)).clock(clock).build();
+        assertEquals("k-1", cache.get("k"));
+
+        clock.advance(Duration.ofSeconds(59));
+        assertEquals("k-1", cache.get("k"));
+        clock.advance(Duration.ofSeconds(1));
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("k-2", cache.get("k"));
+    }
+
+    @Test
+    void readsKeepEntriesAliveUnderExpireAfterAccess() {
+        LoadingLRUCache<String, String> cache = LoadingLRUCache.<String, String>builder(this::load)
+                .maximumSize(10).expireAfterAccess(Duration.ofSeconds(30)).clock(clock).build();
+        cache.get("read");
+        cache.get("idle");
+        for (int i = 0; i < 4; i++) {
+            clock.advance(Duration.ofSeconds(20));
+            assertEquals("read-1", cache.getIfPresent("read"));
+        }
+        assertNull(cache.getIfPresent("idle"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void evictsByTotalWeight() {
+        List<String> evicted = new ArrayList<>();
+        LoadingLRUCache<String, String> cache = LoadingLRUCache.<String, String>builder(key -> key.repeat(4))
+                .maximumWeight(10, (key, value) -> value.length())
+                .evictionListener((key, value) -> evicted.add(key))
+                .build();
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+
+        // Three 4-weight values exceed 10, so the least recently used one goes
+        assertEquals(List.of("b"), evicted);
+        assertEquals(2, cache.size());
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    private LoadingLRUCache<String, String> refreshingCache() {
+        return LoadingLRUCache.<String, String>builder(this::load)
+                .maximumSize(10).refreshAfterWrite(Duration.ofSeconds(5))
+                .executor(refreshes::add).clock(clock).build();
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongLRUCacheTest {
+    private static final long MISSING = Long.MIN_VALUE;
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        LongLongLRUCache cache = new LongLongLRUCache(3);
+        List<Long> evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+        cache.put(1, 10);
+        cache.put(2, 20);
+        cache.put(3, 30);
+        assertEquals(10, cache.get(1, MISSING));
+        cache.put(4, 40);
+        cache.put(5, 50);
+
+        assertEquals(List.of(2L, 3L), evicted);
+        assertEquals(10, cache.get(1, MISSING));
+        assertEquals(MISSING, cache.get(2, MISSING));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void overwriteReplacesTheValueAndPromotes() {
+        LongLongLRUCache cache = new LongLongLRUCache(2);
+        cache.put(1, 10);
+        cache.put(2, 20);
+        cache.put(1, 11);
+        cache.put(3, 30);
+
+        assertEquals(11, cache.get(1, MISSING));
+        assertFalse(cache.containsKey(2));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void removedEntryIsReusedWithoutEvicting() {
+        LongLongLRUCache cache = new LongLongLRUCache(3);
+        List<Long> evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+        cache.put(1, 10);
+        cache.put(2, 20);
+        cache.put(3, 30);
+        assertTrue(cache.remove(2));
+        assertFalse(cache.remove(2));
+
+        cache.put(4, 40);
+        assertEquals(List.of(), evicted);
+        assertEquals(40, cache.get(4, MISSING));
+        assertEquals(3, cache.size());
+
+        // The list still runs 4, 3, 1 after the reuse, so 1 goes next
+        cache.put(5, 50);
+        assertEquals(List.of(1L), evicted);
+    }
+
+    @Test
+    void missingValueIsOnlyASentinel() {
+        LongLongLRUCache cache = new LongLongLRUCache(2);
+        assertEquals(42, cache.get(7, 42));
+        assertEquals(-1, cache.get(7, -1));
+
+        // A stored value equal to the sentinel reads the same as a miss; containsKey tells them apart
+        cache.put(7, -1);
+        assertEquals(-1, cache.get(7, -1));
+        assertTrue(cache.containsKey(7));
+        assertEquals(-1, cache.get(7, 0));
+    }
+
+    @Test
+    void clearEmptiesTheCache() {
+        LongLongLRUCache cache = new LongLongLRUCache(2);
+        cache.put(1, 10);
+        cache.put(2, 20);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertFalse(cache.containsKey(1));
+        cache.put(3, 30);
+        assertEquals(30, cache.get(3, MISSING));
+    }
+
+    @Test
+    void matchesAnAccessOrderedLinkedHashMap() {
+        int capacity = 64;
+        LongLongLRUCache cache = new LongLongLRUCache(capacity);
+        Map<Long, Long> model = new LinkedHashMap<>(16, 0.75f, true);
+        SplittableRandom random = new SplittableRandom(5);
+        for (int step = 0; step < 100_000; step++) {
+            // Few distinct keys, so probe chains collide and wrap often
+            long key = random.nextInt(200) * 1024L;
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(model.remove(key) != null, cache.remove(key));
+                case 1 -> {
+                    Long expected = model.get(key);
+                    assertEquals(expected == null ? MISSING : expected, cache.get(key, MISSING));
+                }
+                default -> {
+                    cache.put(key, step);
+                    model.put(key, (long) step);
+                    if (model.size() > capacity) {
+                        Iterator<Long> eldest = model.keySet().iterator();
+                        eldest.next();
+                        eldest.remove();
+                    }
+                }
+            }
+            assertEquals(model.size(), cache.size());
+        }
+        for (Map.Entry<Long, Long> entry : model.entrySet()) {
+            assertTrue(cache.containsKey(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapLRUCacheTest {
+    // A 64-byte chunk holds a 4-byte key and an 8-byte value; a 1 KB slab holds 16 of them
+    private static final int SLAB = 1024;
+    private static final int SMALL_PER_SLAB = SLAB / 64;
+
+    private static byte[] key(int i) {
+        return ("k" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] value(int length, int seed) {
+        byte[] value = new byte[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = (byte) (seed + i);
+        }
+        return value;
+    }
+
+    private static byte[] bytes(ByteBuffer view) {
+        byte[] copy = new byte[view.remaining()];
+        view.duplicate().get(copy);
+        return copy;
+    }
+
+    @Test
+    void putGetAndOverwriteAcrossSizeClasses() {
+        OffHeapLRUCache cache = new OffHeapLRUCache(4 * SLAB, 16, SLAB);
+        cache.put(key(1), value(8, 1));
+        assertArrayEquals(value(8, 1), bytes(cache.get(key(1))));
+
+        // Same class: rewritten in place
+        cache.put(key(1), value(6, 2));
+        assertArrayEquals(value(6, 2), bytes(cache.get(key(1))));
+
+        // Larger class, then back to the smallest
+        cache.put(key(1), value(500, 3));
+        assertArrayEquals(value(500, 3), bytes(cache.get(key(1))));
+        cache.put(key(1), value(8, 4));
+        assertArrayEquals(value(8, 4), bytes(cache.get(key(1))));
+
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        assertTrue(cache.get(key(1)).isReadOnly());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryOfTheClass() {
+        OffHeapLRUCache cache = new OffHeapLRUCache(SLAB, 64, SLAB);
+        for (int i = 0; i < SMALL_PER_SLAB; i++) {
+            cache.put(key(i), value(8, i));
+        }
+        cache.get(key(0));
+        cache.put(key(100), value(8, 100));
+
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.containsKey(key(0)));
+        assertFalse(cache.containsKey(key(1)));
+        assertTrue(cache.containsKey(key(100)));
+        assertEquals(SMALL_PER_SLAB, cache.size());
+    }
+
+    @Test
+    void evictionOrderIsPerSizeClassNotGlobal() {
+        OffHeapLRUCache cache = new OffHeapLRUCache(2 * SLAB, 64, SLAB);
+        // The large entry is the least recently used overall, but has its own slab and class
+        cache.put(key(-1), value(900, 0));
+        for (int i = 0; i < SMALL_PER_SLAB; i++) {
+            cache.put(key(i), value(8, i));
+        }
+        cache.put(key(100), value(8, 100));
+
+        assertTrue(cache.containsKey(key(-1)));
+        assertFalse(cache.containsKey(key(0)));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void maxEntriesBoundEvictsToo() {
+        OffHeapLRUCache cache = new OffHeapLRUCache(4 * SLAB, 4, SLAB);
+        for (int i = 0; i < 6; i++) {
+            cache.put(key(i), value(8, i));
+        }
+        assertEquals(4, cache.size());
+        assertFalse(cache.containsKey(key(0)));
+        assertFalse(cache.containsKey(key(1)));
+        assertTrue(cache.containsKey(key(5)));
+    }
+
+    @Test
+    void entryLargerThanASlabIsRejected() {
+        OffHeapLRUCache cache = new OffHeapLRUCache(SLAB, 4, SLAB);
+        assertThrows(IllegalArgumentException.class, () -> cache.put(key(1), value(SLAB, 0)));
+    }
+
+    @Test
+    void deletingTheStartOfAWrappedProbeChainKeepsTheRestReachable() {
+        // Four entries give an index of eight slots
+        OffHeapLRUCache cache = new OffHeapLRUCache(4 * SLAB, 4, SLAB);
+        List<Integer> lastSlot = new ArrayList<>();
+        int firstSlot = -1;
+        for (int i = 0; lastSlot.size() < 3 || firstSlot < 0; i++) {
+            int home = OffHeapLRUCache.hash(key(i)) & 7;
+            if (home == 7 && lastSlot.size() < 3) lastSlot.add(i);
+            else if (home == 0 && firstSlot < 0) firstSlot = i;
+        }
+        // Chain: slots 7, 0 and 1 hold the keys homed at 7; the key homed at 0 lands in slot 2
+        for (int i : lastSlot) {
+            cache.put(key(i), value(8, i));
+        }
+        cache.put(key(firstSlot), value(8, firstSlot));
+
+        assertTrue(cache.remove(key(lastSlot.get(0))));
+        assertNull(cache.get(key(lastSlot.get(0))));
+        for (int i : List.of(lastSlot.get(1), lastSlot.get(2), firstSlot)) {
+            assertArrayEquals(value(8, i), bytes(cache.get(key(i))));
+        }
+        assertTrue(cache.remove(key(lastSlot.get(1))));
+        assertArrayEquals(value(8, firstSlot), bytes(cache.get(key(firstSlot))));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void matchesAMapUnderRandomPutsAndRemoves() {
+        OffHeapLRUCache cache = new OffHeapLRUCache(16 * SLAB, 64, SLAB);
+        Map<Integer, Integer> model = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int step = 0; step < 20_000; step++) {
+            int k = random.nextInt(48);
+            if (random.nextInt(3) == 0) {
+                assertEquals(model.remove(k) != null, cache.remove(key(k)));
+            } else {
+                cache.put(key(k), value(8, step));
+                model.put(k, step);
+            }
+            int probe = random.nextInt(48);
+            ByteBuffer cached = cache.get(key(probe));
+            Integer expected = model.get(probe);
+            if (expected == null) {
+                assertNull(cached);
+            } else {
+                assertArrayEquals(value(8, expected), bytes(cached));
+            }
+        }
+        assertEquals(model.size(), cache.size());
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,87 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WTinyLfuPolicyTest {
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    // A window of one entry and a protected segment of 79
+    private static final int CAPACITY = 100;
+
+    private final WTinyLfuPolicy<Integer, String> policy = new WTinyLfuPolicy<>();
+
+    private CacheEntry<Integer, String> insert(int key) {
+        CacheEntry<Integer, String> entry = new CacheEntry<>();
+        entry.key = key;
+        entry.value = "v" + key;
+        entry.weight = 1;
+        policy.recordAccess(key);
+        policy.onInsert(entry);
+        return entry;
+    }
+
+    private List<CacheEntry<Integer, String>> fill() {
+        policy.setCapacity(CAPACITY);
+        List<CacheEntry<Integer, String>> entries = new ArrayList<>();
+        for (int key = 0; key < CAPACITY; key++) {
+            entries.add(insert(key));
+        }
+        return entries;
+    }
+
+    @Test
+    void entriesMoveFromWindowToProbationToProtected() {
+        policy.setCapacity(CAPACITY);
+        CacheEntry<Integer, String> first = insert(1);
+        assertEquals(WINDOW, first.region);
+
+        CacheEntry<Integer, String> second = insert(2);
+        assertEquals(PROBATION, first.region);
+        assertEquals(WINDOW, second.region);
+
+        policy.onHit(first);
+        assertEquals(PROTECTED, first.region);
+    }
+
+    @Test
+    void protectedOverflowIsDemotedToProbation() {
+        List<CacheEntry<Integer, String>> entries = fill();
+        // Keys 0..98 are on probation; promoting all of them overflows the 79-entry protected segment
+        for (int key = 0; key < CAPACITY - 1; key++) {
+            policy.onHit(entries.get(key));
+        }
+        assertEquals(PROBATION, entries.get(0).region);
+        assertEquals(PROTECTED, entries.get(CAPACITY - 2).region);
+    }
+
+    @Test
+    void frequentCandidateIsAdmittedOverProbationVictim() {
+        List<CacheEntry<Integer, String>> entries = fill();
+        for (int i = 0; i < 5; i++) {
+            policy.recordAccess(1000);
+        }
+        CacheEntry<Integer, String> candidate = insert(1000);
+
+        assertSame(entries.get(0), policy.selectVictim());
+        assertEquals(PROBATION, candidate.region);
+    }
+
+    @Test
+    void rareCandidateIsRejectedInFavourOfFrequentVictim() {
+        List<CacheEntry<Integer, String>> entries = fill();
+        for (int i = 0; i < 5; i++) {
+            policy.recordAccess(0);
+        }
+        CacheEntry<Integer, String> candidate = insert(1000);
+
+        assertSame(candidate, policy.selectVictim());
+        assertEquals(PROBATION, entries.get(0).region);
+    }
+}
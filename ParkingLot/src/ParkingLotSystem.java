@@ -110,5 +110,7 @@ public class ParkingLotSystem {
         System.out.println("Spot 101 is free:  " + floor1Spots.get(0).isFree());
         System.out.println("Spot 103 is free: " + floor1Spots.get(2).isFree());
         System.out.println("Spot 105 is free: " + floor1Spots.get(4).isFree());
+
+        System.out.println("\nMetrics:\n" + parkingLot.getMetricsSnapshot());
     }
 }
\ No newline at end of file
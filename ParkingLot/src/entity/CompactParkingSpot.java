@@ -0,0 +1,39 @@
+package entity;
+
+/**
+ * Flyweight {@link ParkingSpot} over one position of a {@link CompactSpotStore}. Views are cheap,
+ * short-lived and not cached; two views of the same position are equal and share all state.
+ */
+public class CompactParkingSpot extends ParkingSpot {
+    private final CompactSpotStore store;
+    private final int position;
+
+    CompactParkingSpot(ParkingFloor floor, CompactSpotStore store, int position) {
+        super(store.getSpotId(position), store.getSpotType(position));
+        this.store = store;
+        this.position = position;
+        attach(floor, position);
+    }
+
+    @Override
+    protected Object loadOccupant() {
+        return store.getOccupant(position);
+    }
+
+    @Override
+    protected boolean casOccupant(Object expected, Object update) {
+        return store.casOccupant(position, expected, update);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompactParkingSpot other)) return false;
+        return store == other.store && position == other.position;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(store) * 31 + position;
+    }
+}
@@ -0,0 +1,110 @@
+package entity;
+
+import enums.SpotType;
+import enums.VehicleType;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Struct-of-arrays storage for the spots of one floor: IDs in an {@code int[]}, types in a
+ * {@code byte[]}, occupants in a reference array, and a bitset of busy (parked or reserved)
+ * positions. Per-vehicle-type fit masks let a scan test 64 spots per word. No object is kept per
+ * spot; {@link CompactParkingSpot} views are created only when a spot is handed out.
+ *
+ * The occupant array is the source of truth and is changed by CAS. The busy bitset is a scan hint
+ * that is re-synced after every change, so it can briefly show a spot as free that has just been
+ * taken. A failed claim on such a spot makes the caller retry, as with any lost race.
+ */
+public class CompactSpotStore {
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+    private final int[] spotIds;
+    private final byte[] spotTypes;
+    private final AtomicReferenceArray<Object> occupants;
+    private final AtomicLongArray busy;
+    // fitMasks[vehicleType][word]: positions whose spot type fits the vehicle type
+    private final long[][] fitMasks;
+
+    public CompactSpotStore(int[] spotIds, SpotType[] spotTypes) {
+        if (spotIds.length != spotTypes.length) {
+            throw new IllegalArgumentException("Got " + spotIds.length + " spot IDs but " + spotTypes.length + " types");
+        }
+        int size = spotIds.length;
+        int words = (size + 63) >>> 6;
+        this.spotIds = spotIds.clone();
+        this.spotTypes = new byte[size];
+        this.occupants = new AtomicReferenceArray<>(size);
+        this.busy = new AtomicLongArray(words);
+        this.fitMasks = new long[VehicleType.values().length][words];
+        for (int i = 0; i < size; i++) {
+            this.spotTypes[i] = (byte) spotTypes[i].ordinal();
+            for (VehicleType vehicleType : VehicleType.values()) {
+                if (vehicleType.canFitIn(spotTypes[i])) {
+                    fitMasks[vehicleType.ordinal()][i >>> 6] |= 1L << i;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return spotIds.length;
+    }
+
+    public int getSpotId(int position) {
+        return spotIds[position];
+    }
+
+    public SpotType getSpotType(int position) {
+        return SPOT_TYPES[spotTypes[position]];
+    }
+
+    public boolean isFree(int position) {
+        return occupants.get(position) == null;
+    }
+
+    Object getOccupant(int position) {
+        return occupants.get(position);
+    }
+
+    boolean casOccupant(int position, Object expected, Object update) {
+        if (!occupants.compareAndSet(position, expected, update)) {
+            return false;
+        }
+        syncBusyBit(position);
+        return true;
+    }
+
+    // Re-reads the occupant after writing the bit, so the last writer always leaves the bit matching it
+    private void syncBusyBit(int position) {
+        int word = position >>> 6;
+        long bit = 1L << position;
+        while (true) {
+            boolean occupied = occupants.get(position) != null;
+            long current = busy.get(word);
+            long updated = occupied ? current | bit : current & ~bit;
+            if (current != updated && !busy.compareAndSet(word, current, updated)) continue;
+            if ((occupants.get(position) != null) == occupied) return;
+        }
+    }
+
+    /**
+     * Finds the first position at or after {@code from} that looks free and fits the vehicle type,
+     * scanning 64 positions per step.
+     *
+     * @return the position, or -1 if there is none
+     */
+    public int nextFreeFitting(VehicleType vehicleType, int from) {
+        long[] fit = fitMasks[vehicleType.ordinal()];
+        if (from >= spotIds.length) return -1;
+        int word = from >>> 6;
+        long candidates = fit[word] & ~busy.get(word) & (-1L << from);
+        while (true) {
+            if (candidates != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(candidates);
+            }
+            if (++word == fit.length) return -1;
+            candidates = fit[word] & ~busy.get(word);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package entity;
+
+/**
+ * Outcome of one vehicle in a batch entry: either a ticket or the reason it was turned away.
+ */
+public class EntryResult {
+    private final Vehicle vehicle;
+    private final Ticket ticket;
+    private final String rejectionReason;
+
+    private EntryResult(Vehicle vehicle, Ticket ticket, String rejectionReason) {
+        this.vehicle = vehicle;
+        this.ticket = ticket;
+        this.rejectionReason = rejectionReason;
+    }
+
+    public static EntryResult accepted(Ticket ticket) {
+        return new EntryResult(ticket.getVehicle(), ticket, null);
+    }
+
+    public static EntryResult rejected(Vehicle vehicle, String reason) {
+        return new EntryResult(vehicle, null, reason);
+    }
+
+    public boolean isAccepted() {
+        return ticket != null;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public Ticket getTicket() {
+        return ticket;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+}
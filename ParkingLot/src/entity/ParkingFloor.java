@@ -1,12 +1,18 @@
 package entity;
 
 import enums.SpotType;
+import interfaces.SpotStateListener;
 
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class ParkingFloor {
+public final class ParkingFloor {
     private final String floorId;
     private final List<ParkingSpot> spots;
+    private final CompactSpotStore compactStore;
+    private final List<SpotStateListener> listeners = new CopyOnWriteArrayList<>();
 
     public String getFloorId() {
         return floorId;
@@ -19,5 +25,77 @@ public class ParkingFloor {
     public ParkingFloor(List<ParkingSpot> spots, String floorId) {
         this.spots = spots;
         this.floorId = floorId;
+        this.compactStore = null;
+        for (int i = 0; i < spots.size(); i++) {
+            spots.get(i).attach(this, i);
+        }
+    }
+
+    private ParkingFloor(CompactSpotStore compactStore, String floorId) {
+        this.floorId = floorId;
+        this.compactStore = compactStore;
+        this.spots = new CompactSpotList();
+    }
+
+    /**
+     * Creates a floor whose spots live in primitive arrays instead of one object per spot.
+     * {@link #getSpots()} still works but creates a flyweight view per element accessed;
+     * strategies should scan {@link #getCompactStore()} and only materialize the spot they pick.
+     */
+    public static ParkingFloor compact(int[] spotIds, SpotType[] spotTypes, String floorId) {
+        return new ParkingFloor(new CompactSpotStore(spotIds, spotTypes), floorId);
+    }
+
+    public boolean isCompact() {
+        return compactStore != null;
+    }
+
+    // Backing arrays of a compact floor, or null for a floor of ParkingSpot objects
+    public CompactSpotStore getCompactStore() {
+        return compactStore;
+    }
+
+    public void addSpotStateListener(SpotStateListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeSpotStateListener(SpotStateListener listener) {
+        listeners.remove(listener);
+    }
+
+    void notifyParked(ParkingSpot spot) {
+        for (SpotStateListener listener : listeners) {
+            listener.onSpotParked(spot);
+        }
+    }
+
+    void notifyFreed(ParkingSpot spot) {
+        for (SpotStateListener listener : listeners) {
+            listener.onSpotFreed(spot);
+        }
+    }
+
+    void notifyReserved(ParkingSpot spot) {
+        for (SpotStateListener listener : listeners) {
+            listener.onSpotReserved(spot);
+        }
+    }
+
+    void notifyReservationReleased(ParkingSpot spot) {
+        for (SpotStateListener listener : listeners) {
+            listener.onReservationReleased(spot);
+        }
+    }
+
+    private class CompactSpotList extends AbstractList<ParkingSpot> implements RandomAccess {
+        @Override
+        public ParkingSpot get(int index) {
+            return new CompactParkingSpot(ParkingFloor.this, compactStore, index);
+        }
+
+        @Override
+        public int size() {
+            return compactStore.size();
+        }
     }
 }
@@ -1,32 +1,91 @@
 package entity;
+import enums.SpotType;
+import enums.VehicleType;
+import exceptions.LotFullException;
+import generator.SnowflakeIdGenerator;
+import interfaces.IdGenerator;
+import interfaces.SlotAllocationStrategy;
+import metrics.MetricsSnapshot;
+import metrics.ParkingLotMetrics;
 import panels.EntryPanel;
 import panels.ExitPanel;
+import persistence.ParkingJournal;
+import scheduler.HierarchicalTimingWheel;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-public class ParkingLot {
-    private static ParkingLot instance;
+public class ParkingLot implements AutoCloseable {
+    private static final long RESERVATION_TICK_MILLIS = 1000;
+    public static final String DEFAULT_LOT_ID = "default";
+    // Shared so that reservations in different lots of one process never repeat an ID
+    private static final IdGenerator RESERVATION_IDS = new SnowflakeIdGenerator(0);
+    // One daemon thread ticks the reservation expiry of every lot in the process
+    private static final ScheduledExecutorService EXPIRY_TICKER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String lotId;
     private final List<ParkingFloor> parkingFloors;
     private final List<EntryPanel> entryPanels;
     private final List<ExitPanel> exitPanels;
+    private final TicketRegistry ticketRegistry = new TicketRegistry();
+    private final ParkingLotMetrics metrics;
+    private final Map<String, Reservation> reservationsByPlate = new ConcurrentHashMap<>();
+    private volatile Clock clock = Clock.systemUTC();
+    private volatile HierarchicalTimingWheel<Reservation> reservationExpiry =
+            new HierarchicalTimingWheel<>(RESERVATION_TICK_MILLIS, clock.millis());
+    private volatile ScheduledFuture<?> expiryTask;
+    private boolean closed;
 
-    // Private constructor for Singleton
-    private ParkingLot(List<ParkingFloor> parkingFloors,
-                       List<EntryPanel> entryPanels,
-                       List<ExitPanel> exitPanels) {
+    /**
+     * Creates an independent lot with its own floors, panels, ticket registry, metrics and
+     * reservations. Register it with a {@link ParkingLotRegistry} to serve several lots per process.
+     */
+    public ParkingLot(String lotId,
+                      List<ParkingFloor> parkingFloors,
+                      List<EntryPanel> entryPanels,
+                      List<ExitPanel> exitPanels) {
+        this.lotId = lotId;
         this.parkingFloors = parkingFloors;
         this. entryPanels = entryPanels;
         this. exitPanels = exitPanels;
+        this.metrics = ParkingLotMetrics.attach(parkingFloors);
+        for (EntryPanel entryPanel : entryPanels) {
+            entryPanel.setTicketRegistry(ticketRegistry);
+            entryPanel.setMetrics(metrics);
+        }
+        for (ExitPanel exitPanel : exitPanels) {
+            exitPanel.setTicketRegistry(ticketRegistry);
+            exitPanel.setMetrics(metrics);
+        }
     }
 
-    // Thread-safe Singleton instance getter
-    public static synchronized ParkingLot getInstance(List<ParkingFloor> parkingFloors,
-                                                      List<EntryPanel> entryPanels,
-                                                      List<ExitPanel> exitPanels) {
-        if (instance == null) {
-            instance = new ParkingLot(parkingFloors, entryPanels, exitPanels);
-        }
-        return instance;
+    /**
+     * The process-wide default lot, created from the arguments on the first call; later calls
+     * return it and ignore their arguments. Kept for single-lot callers; multi-lot code should
+     * create lots directly and look them up in a {@link ParkingLotRegistry}.
+     */
+    public static ParkingLot getInstance(List<ParkingFloor> parkingFloors,
+                                         List<EntryPanel> entryPanels,
+                                         List<ExitPanel> exitPanels) {
+        return ParkingLotRegistry.getDefault().getOrCreate(DEFAULT_LOT_ID,
+                lotId -> new ParkingLot(lotId, parkingFloors, entryPanels, exitPanels));
+    }
+
+    public String getLotId() {
+        return lotId;
     }
 
     public List<ParkingFloor> getParkingFloors() {
@@ -40,4 +99,170 @@ public class ParkingLot {
     public List<ExitPanel> getExitPanels() {
         return exitPanels;
     }
-}
\ No newline at end of file
+
+    public TicketRegistry getTicketRegistry() {
+        return ticketRegistry;
+    }
+
+    public Ticket findTicket(long ticketId) {
+        return ticketRegistry.findByTicketId(ticketId);
+    }
+
+    public Ticket findTicketByLicensePlate(String licensePlate) {
+        return ticketRegistry.findByLicensePlate(licensePlate);
+    }
+
+    public Collection<Ticket> getActiveTickets() {
+        return ticketRegistry.getActiveTickets();
+    }
+
+    public ParkingLotMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Source of reservation deadlines and expiry ticks, also set on every panel so that entry,
+     * exit and hold times agree. Set before the lot takes reservations.
+     */
+    public synchronized void setClock(Clock clock) {
+        if (!reservationsByPlate.isEmpty()) {
+            throw new IllegalStateException("Lot " + lotId + " already holds reservations");
+        }
+        this.clock = clock;
+        this.reservationExpiry = new HierarchicalTimingWheel<>(RESERVATION_TICK_MILLIS, clock.millis());
+        for (EntryPanel entryPanel : entryPanels) {
+            entryPanel.setClock(clock);
+        }
+        for (ExitPanel exitPanel : exitPanels) {
+            exitPanel.setClock(clock);
+        }
+    }
+
+    public MetricsSnapshot getMetricsSnapshot() {
+        return metrics.snapshot();
+    }
+
+    // Approximate, from the occupancy counters (reserved spots count as taken): a quick filter before trying to allocate here
+    public boolean hasFreeSpotFor(VehicleType vehicleType) {
+        for (SpotType spotType : SpotType.values()) {
+            if (vehicleType.canFitIn(spotType) && metrics.getOccupied(spotType) < metrics.getCapacity(spotType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Restores the sessions recorded in the directory and journals every later entry and exit
+     * there. Call before the lot takes traffic.
+     */
+    public ParkingJournal enableJournal(Path directory) throws IOException {
+        ParkingJournal journal = ParkingJournal.open(directory);
+        journal.recover(this);
+        return journal;
+    }
+
+    /**
+     * Holds a fitting spot for the vehicle until {@code holdMillis} from now. Reserved spots are
+     * skipped by every allocation strategy. The hold expires on its own unless the vehicle checks
+     * in or the reservation is cancelled first.
+     */
+    public Reservation reserveSpot(Vehicle vehicle, long holdMillis) {
+        String plate = vehicle.getLicensePlate();
+        if (ticketRegistry.isActive(plate) || reservationsByPlate.containsKey(plate)) {
+            throw new IllegalStateException("Vehicle " + plate + " is already parked or holds a reservation");
+        }
+        if (entryPanels.isEmpty()) {
+            throw new IllegalStateException("Lot " + lotId + " has no entry panel to allocate a reservation");
+        }
+        SlotAllocationStrategy strategy = entryPanels.get(0).getSlotAllocationStrategy();
+        long expiresAt = clock.millis() + holdMillis;
+        while (true) {
+            ParkingSpot spot = strategy.allocateSpot(parkingFloors, vehicle);
+            if (spot == null) {
+                throw new LotFullException("No spot available");
+            }
+            Reservation reservation = new Reservation(RESERVATION_IDS.nextId(), vehicle, spot, expiresAt);
+            if (!spot.tryReserve(reservation)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (reservationsByPlate.putIfAbsent(plate, reservation) != null) {
+                spot.releaseReservation(reservation);
+                throw new IllegalStateException("Vehicle " + plate + " already holds a reservation");
+            }
+            reservation.setExpiryTimer(reservationExpiry.schedule(reservation, expiresAt));
+            startExpiryTicker();
+            return reservation;
+        }
+    }
+
+    public Reservation findReservation(String licensePlate) {
+        return reservationsByPlate.get(licensePlate);
+    }
+
+    public boolean cancelReservation(Reservation reservation) {
+        if (!reservationsByPlate.remove(reservation.getVehicle().getLicensePlate(), reservation)) {
+            return false;
+        }
+        cancelExpiry(reservation);
+        reservation.getParkingSpot().releaseReservation(reservation);
+        return true;
+    }
+
+    // A timer not yet set by reserveSpot is left to come due; expiry then finds nothing to do
+    private void cancelExpiry(Reservation reservation) {
+        HierarchicalTimingWheel.Timeout<Reservation> timer = reservation.getExpiryTimer();
+        if (timer != null) {
+            reservationExpiry.cancel(timer);
+        }
+    }
+
+    /**
+     * Admits an arriving vehicle: onto its reserved spot if it holds a reservation,
+     * otherwise through the panel's normal allocation. A reservation is used up either way: if the
+     * ticket cannot be registered after the spot is claimed, the spot is freed rather than left held.
+     */
+    public Ticket checkIn(EntryPanel entryPanel, Vehicle vehicle) {
+        Reservation reservation = reservationsByPlate.remove(vehicle.getLicensePlate());
+        if (reservation == null) {
+            return entryPanel.issueTicket(vehicle, parkingFloors);
+        }
+        cancelExpiry(reservation);
+        return entryPanel.issueTicket(reservation, vehicle);
+    }
+
+    // Releases every hold that is due; driven by a background ticker once reservations exist
+    public int expireReservations(long now) {
+        return reservationExpiry.advance(now, reservation -> {
+            if (reservationsByPlate.remove(reservation.getVehicle().getLicensePlate(), reservation)) {
+                reservation.getParkingSpot().releaseReservation(reservation);
+            }
+        });
+    }
+
+    public int getReservationCount() {
+        return reservationsByPlate.size();
+    }
+
+    /**
+     * Stops this lot's reservation expiry ticks. Holds still outstanding no longer expire on
+     * their own; {@link #expireReservations} can still release them.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (expiryTask != null) {
+            expiryTask.cancel(false);
+        }
+    }
+
+    private void startExpiryTicker() {
+        if (expiryTask != null) return;
+        synchronized (this) {
+            if (expiryTask != null || closed) return;
+            expiryTask = EXPIRY_TICKER.scheduleAtFixedRate(() -> expireReservations(clock.millis()),
+                    RESERVATION_TICK_MILLIS, RESERVATION_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package entity;
+
+import exceptions.LotFullException;
+import panels.EntryPanel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The parking lots served by one process, keyed by lot ID. Each lot keeps its own floors,
+ * allocation strategy, tickets and metrics, so lots never contend with each other; the registry
+ * itself is a concurrent map and lookups take no lock.
+ *
+ * Lots can name their neighbours, nearest first. {@link #admit} sends a vehicle that finds its
+ * lot full on to the first neighbour with room, and refuses a plate already parked in any lot.
+ */
+public class ParkingLotRegistry {
+    private static final ParkingLotRegistry DEFAULT = new ParkingLotRegistry();
+
+    private final Map<String, ParkingLot> lots = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> neighbours = new ConcurrentHashMap<>();
+    // Plates with an admit in progress, so two gates cannot park one vehicle in two lots
+    private final Map<String, String> admitting = new ConcurrentHashMap<>();
+
+    // Registry behind ParkingLot.getInstance
+    public static ParkingLotRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public void register(ParkingLot lot) {
+        if (lots.putIfAbsent(lot.getLotId(), lot) != null) {
+            throw new IllegalStateException("Lot " + lot.getLotId() + " is already registered");
+        }
+    }
+
+    public ParkingLot getOrCreate(String lotId, Function<String, ParkingLot> factory) {
+        ParkingLot lot = lots.get(lotId);
+        return lot != null ? lot : lots.computeIfAbsent(lotId, factory);
+    }
+
+    public ParkingLot get(String lotId) {
+        return lots.get(lotId);
+    }
+
+    public ParkingLot remove(String lotId) {
+        neighbours.remove(lotId);
+        return lots.remove(lotId);
+    }
+
+    public Collection<ParkingLot> getLots() {
+        return lots.values();
+    }
+
+    public int size() {
+        return lots.size();
+    }
+
+    // Lots to try, in order, when the given lot is full; IDs need not be registered yet
+    public void setNeighbours(String lotId, List<String> neighbourIds) {
+        neighbours.put(lotId, List.copyOf(neighbourIds));
+    }
+
+    public List<String> getNeighbours(String lotId) {
+        return neighbours.getOrDefault(lotId, List.of());
+    }
+
+    /**
+     * Admits the vehicle at the given gate of its lot, or, if that lot has no fitting spot, at the
+     * first entry panel of the first neighbour with room. Neighbours whose occupancy counters show
+     * no fitting spot are skipped without trying to allocate. A plate is admitted through the
+     * registry to at most one lot at a time; only a {@link LotFullException} moves on to a neighbour.
+     *
+     * @return the ticket; {@link #findLotByLicensePlate} tells which lot issued it
+     * @throws IllegalStateException if the vehicle is already parked in a registered lot or is being admitted
+     * @throws LotFullException if neither the lot nor any neighbour has a fitting spot
+     */
+    public Ticket admit(String lotId, EntryPanel gate, Vehicle vehicle) {
+        ParkingLot home = lots.get(lotId);
+        if (home == null) {
+            throw new IllegalArgumentException("Unknown lot " + lotId);
+        }
+        String plate = vehicle.getLicensePlate();
+        if (admitting.putIfAbsent(plate, lotId) != null) {
+            throw new IllegalStateException("Vehicle " + plate + " is already being admitted");
+        }
+        try {
+            ParkingLot parkedIn = findLotByLicensePlate(plate);
+            if (parkedIn != null) {
+                throw new IllegalStateException("Vehicle " + plate + " is already parked in lot " + parkedIn.getLotId());
+            }
+            try {
+                return home.checkIn(gate, vehicle);
+            } catch (LotFullException full) {
+                for (String neighbourId : getNeighbours(lotId)) {
+                    ParkingLot neighbour = lots.get(neighbourId);
+                    if (neighbour == null || neighbour.getEntryPanels().isEmpty()
+                            || !neighbour.hasFreeSpotFor(vehicle.getType())) {
+                        continue;
+                    }
+                    try {
+                        return neighbour.checkIn(neighbour.getEntryPanels().get(0), vehicle);
+                    } catch (LotFullException neighbourFull) {
+                        // Filled up since the check; try the next one
+                    }
+                }
+                throw new LotFullException("No spot available in lot " + lotId + " or its neighbours");
+            }
+        } finally {
+            admitting.remove(plate, lotId);
+        }
+    }
+
+    // The lot where the vehicle is currently parked, or null
+    public ParkingLot findLotByLicensePlate(String licensePlate) {
+        for (ParkingLot lot : lots.values()) {
+            if (lot.getTicketRegistry().isActive(licensePlate)) {
+                return lot;
+            }
+        }
+        return null;
+    }
+}
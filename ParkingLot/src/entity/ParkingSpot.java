@@ -2,26 +2,115 @@ package entity;
 
 import enums.SpotType;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public class ParkingSpot {
+    private static final VarHandle OCCUPANT;
+
+    static {
+        try {
+            OCCUPANT = MethodHandles.lookup().findVarHandle(ParkingSpot.class, "occupant", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final int spotId;
     private final SpotType spotType;
-    private  Vehicle vehicle;
+    // null when free, otherwise the parked Vehicle or the Reservation holding the spot
+    private volatile Object occupant;
+    private ParkingFloor floor;
+    private int floorIndex = -1;
 
     public ParkingSpot(int spotId, SpotType spotType) {
         this.spotId = spotId;
         this.spotType = spotType;
     }
 
+    // Called by ParkingFloor so that park/unpark can be reported to the floor's listeners
+    void attach(ParkingFloor floor, int floorIndex) {
+        this.floor = floor;
+        this.floorIndex = floorIndex;
+    }
+
+    // Occupant access goes through these two methods so that compact floors can keep it in arrays
+    protected Object loadOccupant() {
+        return occupant;
+    }
+
+    protected boolean casOccupant(Object expected, Object update) {
+        return OCCUPANT.compareAndSet(this, expected, update);
+    }
+
+    // Free means neither parked nor reserved
     public boolean isFree() {
-        return vehicle == null;
+        return loadOccupant() == null;
+    }
+
+    public boolean isReserved() {
+        return loadOccupant() instanceof Reservation;
+    }
+
+    /**
+     * Atomically claims this spot for the vehicle.
+     *
+     * @return true if the spot was free and now holds the vehicle, false if another vehicle got it first
+     */
+    public boolean tryClaim(Vehicle vehicle) {
+        if (!casOccupant(null, vehicle)) {
+            return false;
+        }
+        if (floor != null) {
+            floor.notifyParked(this);
+        }
+        return true;
     }
 
     public void parkVehicle(Vehicle vehicle) {
-        this.vehicle = vehicle;
+        if (!tryClaim(vehicle)) {
+            throw new IllegalStateException("Spot " + spotId + " is already occupied");
+        }
     }
 
+    // Frees the spot only if it is still held by the given vehicle
     public void unparkVehicle(Vehicle vehicle) {
-        this.vehicle = null;
+        if (casOccupant(vehicle, null) && floor != null) {
+            floor.notifyFreed(this);
+        }
+    }
+
+    // Holds a free spot for a reservation; allocation strategies skip it until it is claimed or released
+    public boolean tryReserve(Reservation reservation) {
+        if (!casOccupant(null, reservation)) {
+            return false;
+        }
+        if (floor != null) {
+            floor.notifyReserved(this);
+        }
+        return true;
+    }
+
+    // Turns the reservation into a parked vehicle; fails if the reservation has already expired
+    public boolean claimReservation(Reservation reservation, Vehicle vehicle) {
+        if (!casOccupant(reservation, vehicle)) {
+            return false;
+        }
+        if (floor != null) {
+            floor.notifyParked(this);
+        }
+        return true;
+    }
+
+    // Frees the spot only if it is still held by the given reservation
+    public boolean releaseReservation(Reservation reservation) {
+        if (!casOccupant(reservation, null)) {
+            return false;
+        }
+        if (floor != null) {
+            floor.notifyReservationReleased(this);
+        }
+        return true;
     }
 
     public int getSpotId() {
@@ -33,6 +122,19 @@ public class ParkingSpot {
     }
 
     public Vehicle getVehicle() {
-        return vehicle;
+        return loadOccupant() instanceof Vehicle vehicle ? vehicle : null;
+    }
+
+    public Reservation getReservation() {
+        return loadOccupant() instanceof Reservation reservation ? reservation : null;
+    }
+
+    public ParkingFloor getFloor() {
+        return floor;
+    }
+
+    // Position of this spot in its floor's spot list, or -1 if not attached to a floor
+    public int getFloorIndex() {
+        return floorIndex;
     }
 }
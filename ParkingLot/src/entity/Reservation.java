@@ -0,0 +1,46 @@
+package entity;
+
+import scheduler.HierarchicalTimingWheel;
+
+/**
+ * A pre-booked hold on a spot for a given vehicle, valid until {@link #getExpiresAt()}.
+ */
+public class Reservation {
+    private final long reservationId;
+    private final Vehicle vehicle;
+    private final ParkingSpot parkingSpot;
+    private final long expiresAt;
+    // Set by ParkingLot once the hold is scheduled, so that check-in and cancellation can drop it
+    private volatile HierarchicalTimingWheel.Timeout<Reservation> expiryTimer;
+
+    public Reservation(long reservationId, Vehicle vehicle, ParkingSpot parkingSpot, long expiresAt) {
+        this.reservationId = reservationId;
+        this.vehicle = vehicle;
+        this.parkingSpot = parkingSpot;
+        this.expiresAt = expiresAt;
+    }
+
+    public long getReservationId() {
+        return reservationId;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public ParkingSpot getParkingSpot() {
+        return parkingSpot;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    HierarchicalTimingWheel.Timeout<Reservation> getExpiryTimer() {
+        return expiryTimer;
+    }
+
+    void setExpiryTimer(HierarchicalTimingWheel.Timeout<Reservation> expiryTimer) {
+        this.expiryTimer = expiryTimer;
+    }
+}
@@ -1,19 +1,23 @@
 package entity;
 
 public class Ticket {
-    private final String ticketId;
+    private final long ticketId;
     private final Vehicle vehicle;
     private final ParkingSpot parkingSpot;
     private final long entryTime;
 
-    public Ticket(Vehicle vehicle, ParkingSpot parkingSpot) {
-        this.ticketId = java.util.UUID.randomUUID().toString();
+    public Ticket(long ticketId, Vehicle vehicle, ParkingSpot parkingSpot) {
+        this(ticketId, vehicle, parkingSpot, System.currentTimeMillis());
+    }
+
+    public Ticket(long ticketId, Vehicle vehicle, ParkingSpot parkingSpot, long entryTime) {
+        this.ticketId = ticketId;
         this.parkingSpot = parkingSpot;
         this.vehicle = vehicle;
-        this.entryTime = System.currentTimeMillis();
+        this.entryTime = entryTime;
     }
 
-    public String getTicketId() {
+    public long getTicketId() {
         return ticketId;
     }
 
@@ -0,0 +1,97 @@
+package entity;
+
+import interfaces.TicketLifecycleListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Index of active parking sessions by ticket ID and by license plate.
+ * Both indexes are concurrent hash maps, so lookups and iteration never take a global lock.
+ */
+public class TicketRegistry {
+    private final Map<Long, Ticket> ticketsById = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> ticketsByPlate = new ConcurrentHashMap<>();
+    private final List<TicketLifecycleListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(TicketLifecycleListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TicketLifecycleListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers a newly issued ticket. The ticket is indexed by ID before it is published by
+     * plate, so a ticket found by plate can always be closed; a ticket whose plate is taken is
+     * briefly visible by ID before it is rolled back.
+     *
+     * @throws IllegalStateException if the vehicle already has an active ticket
+     */
+    public void register(Ticket ticket) {
+        String plate = ticket.getVehicle().getLicensePlate();
+        ticketsById.put(ticket.getTicketId(), ticket);
+        Ticket existing = ticketsByPlate.putIfAbsent(plate, ticket);
+        if (existing != null) {
+            ticketsById.remove(ticket.getTicketId(), ticket);
+            throw new IllegalStateException("Vehicle " + plate + " already has active ticket " + existing.getTicketId());
+        }
+        for (TicketLifecycleListener listener : listeners) {
+            listener.onTicketIssued(ticket);
+        }
+    }
+
+    /**
+     * Closes an active ticket. Only one caller can close a given ticket.
+     *
+     * @return true if the ticket was active and is now removed
+     */
+    public boolean remove(Ticket ticket) {
+        if (!ticketsById.remove(ticket.getTicketId(), ticket)) {
+            return false;
+        }
+        ticketsByPlate.remove(ticket.getVehicle().getLicensePlate(), ticket);
+        return true;
+    }
+
+    /**
+     * Closes an active ticket at exit and reports the charged fare to listeners.
+     *
+     * @return true if the ticket was active and is now closed
+     */
+    public boolean close(Ticket ticket, double fare, long exitTime) {
+        if (!remove(ticket)) {
+            return false;
+        }
+        for (TicketLifecycleListener listener : listeners) {
+            listener.onTicketClosed(ticket, fare, exitTime);
+        }
+        return true;
+    }
+
+    public Ticket findByTicketId(long ticketId) {
+        return ticketsById.get(ticketId);
+    }
+
+    public Ticket findByLicensePlate(String licensePlate) {
+        return ticketsByPlate.get(licensePlate);
+    }
+
+    public boolean isActive(String licensePlate) {
+        return ticketsByPlate.containsKey(licensePlate);
+    }
+
+    // Weakly consistent view: safe to iterate while tickets are issued and closed
+    public Collection<Ticket> getActiveTickets() {
+        return Collections.unmodifiableCollection(ticketsById.values());
+    }
+
+    public int size() {
+        return ticketsById.size();
+    }
+}
@@ -3,5 +3,11 @@ package enums;
 public enum VehicleType {
     BIKE,
     CAR,
-    TRUCK
+    TRUCK;
+
+    public boolean canFitIn(SpotType spotType) {
+        if (this == BIKE) return true;
+        if (this == CAR) return spotType != SpotType.SMALL;
+        return spotType == SpotType.LARGE;
+    }
 }
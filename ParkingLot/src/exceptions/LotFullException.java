@@ -0,0 +1,13 @@
+package exceptions;
+
+/**
+ * Thrown when no free spot fits the vehicle. Callers can route the vehicle elsewhere on this
+ * and still let every other failure propagate.
+ */
+public class LotFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public LotFullException(String message) {
+        super(message);
+    }
+}
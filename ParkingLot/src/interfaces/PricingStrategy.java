@@ -2,6 +2,17 @@ package interfaces;
 
 import entity.Ticket;
 
+import java.util.List;
+
 public interface PricingStrategy {
     double calculatePrice(Ticket ticket, long exitTime);
+
+    // Prices many stays against one exit time, e.g. for end-of-day reconciliation of open tickets
+    default double[] calculatePrices(List<Ticket> tickets, long exitTime) {
+        double[] prices = new double[tickets.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = calculatePrice(tickets.get(i), exitTime);
+        }
+        return prices;
+    }
 }
@@ -4,8 +4,25 @@ import entity.ParkingFloor;
 import entity.ParkingSpot;
 import entity.Vehicle;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface SlotAllocationStrategy {
     ParkingSpot allocateSpot(List<ParkingFloor> parkingFloors, Vehicle vehicle);
+
+    /**
+     * Allocates spots for a batch of vehicles.
+     *
+     * @return one entry per vehicle, in order, with null where no spot fits. Spots are only
+     * candidates: callers still claim each one and must handle a lost race. This default
+     * asks for each vehicle separately and may repeat a spot; strategies override it to
+     * allocate the whole batch in one pass with distinct spots.
+     */
+    default List<ParkingSpot> allocateSpots(List<ParkingFloor> parkingFloors, List<Vehicle> vehicles) {
+        List<ParkingSpot> spots = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            spots.add(allocateSpot(parkingFloors, vehicle));
+        }
+        return spots;
+    }
 }
@@ -0,0 +1,19 @@
+package interfaces;
+
+import entity.ParkingSpot;
+
+/**
+ * Receives park/unpark notifications from the spots of a {@link entity.ParkingFloor}.
+ */
+public interface SpotStateListener {
+    void onSpotParked(ParkingSpot spot);
+
+    void onSpotFreed(ParkingSpot spot);
+
+    default void onSpotReserved(ParkingSpot spot) {
+    }
+
+    // A reservation expired or was cancelled and the spot is free again
+    default void onReservationReleased(ParkingSpot spot) {
+    }
+}
@@ -0,0 +1,12 @@
+package interfaces;
+
+import entity.Ticket;
+
+/**
+ * Receives notifications when a {@link entity.TicketRegistry} opens or closes a parking session.
+ */
+public interface TicketLifecycleListener {
+    void onTicketIssued(Ticket ticket);
+
+    void onTicketClosed(Ticket ticket, double fare, long exitTime);
+}
@@ -0,0 +1,79 @@
+package metrics;
+
+import enums.SpotType;
+
+import java.util.Map;
+
+/**
+ * Point-in-time copy of {@link ParkingLotMetrics}. Counters are read one by one while traffic
+ * continues, so totals across maps may be off by in-flight operations.
+ */
+public class MetricsSnapshot {
+    private final long timestamp;
+    private final Map<String, Long> occupancyByFloor;
+    private final Map<String, Long> capacityByFloor;
+    private final Map<SpotType, Long> occupancyBySpotType;
+    private final Map<SpotType, Long> capacityBySpotType;
+    private final LatencyHistogram.Snapshot entryLatency;
+    private final LatencyHistogram.Snapshot exitLatency;
+    private final long rejections;
+
+    public MetricsSnapshot(long timestamp,
+                           Map<String, Long> occupancyByFloor,
+                           Map<String, Long> capacityByFloor,
+                           Map<SpotType, Long> occupancyBySpotType,
+                           Map<SpotType, Long> capacityBySpotType,
+                           LatencyHistogram.Snapshot entryLatency,
+                           LatencyHistogram.Snapshot exitLatency,
+                           long rejections) {
+        this.timestamp = timestamp;
+        this.occupancyByFloor = occupancyByFloor;
+        this.capacityByFloor = capacityByFloor;
+        this.occupancyBySpotType = occupancyBySpotType;
+        this.capacityBySpotType = capacityBySpotType;
+        this.entryLatency = entryLatency;
+        this.exitLatency = exitLatency;
+        this.rejections = rejections;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, Long> getOccupancyByFloor() {
+        return occupancyByFloor;
+    }
+
+    public Map<String, Long> getCapacityByFloor() {
+        return capacityByFloor;
+    }
+
+    public Map<SpotType, Long> getOccupancyBySpotType() {
+        return occupancyBySpotType;
+    }
+
+    public Map<SpotType, Long> getCapacityBySpotType() {
+        return capacityBySpotType;
+    }
+
+    public LatencyHistogram.Snapshot getEntryLatency() {
+        return entryLatency;
+    }
+
+    public LatencyHistogram.Snapshot getExitLatency() {
+        return exitLatency;
+    }
+
+    public long getRejections() {
+        return rejections;
+    }
+
+    @Override
+    public String toString() {
+        return "occupancyByFloor=" + occupancyByFloor
+                + " occupancyBySpotType=" + occupancyBySpotType
+                + " rejections=" + rejections
+                + "\nentry: " + entryLatency
+                + "\nexit:  " + exitLatency;
+    }
+}
@@ -0,0 +1,162 @@
+package metrics;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import enums.SpotType;
+import interfaces.SpotStateListener;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for a parking lot: occupancy per floor and per {@link SpotType}, entry/exit
+ * latency and rejected entries. A spot counts as occupied while it is parked or reserved, since
+ * neither can be allocated. Occupancy is kept current from the floors' spot notifications, so
+ * reading it never scans spots. All counters are {@link LongAdder}s or lock-free histograms, so
+ * {@link #snapshot()} can be polled without pausing traffic.
+ */
+public final class ParkingLotMetrics implements SpotStateListener {
+    private final List<ParkingFloor> floors;
+    private final Map<ParkingFloor, FloorOccupancy> occupancyByFloor = new IdentityHashMap<>();
+    private final Map<SpotType, LongAdder> occupiedByType = new EnumMap<>(SpotType.class);
+    private final Map<SpotType, Long> capacityByType = new EnumMap<>(SpotType.class);
+    private final LatencyHistogram entryLatency = new LatencyHistogram();
+    private final LatencyHistogram exitLatency = new LatencyHistogram();
+    private final LongAdder rejections = new LongAdder();
+
+    private ParkingLotMetrics(List<ParkingFloor> floors) {
+        this.floors = floors;
+        for (SpotType spotType : SpotType.values()) {
+            occupiedByType.put(spotType, new LongAdder());
+            capacityByType.put(spotType, 0L);
+        }
+        for (ParkingFloor floor : floors) {
+            occupancyByFloor.put(floor, new FloorOccupancy(floor.getSpots().size()));
+            for (ParkingSpot spot : floor.getSpots()) {
+                capacityByType.merge(spot.getSpotType(), 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Creates metrics for the floors and registers them for spot notifications. Registration
+     * comes before the initial occupancy scan, so no transition is lost while the scan runs.
+     */
+    public static ParkingLotMetrics attach(List<ParkingFloor> floors) {
+        ParkingLotMetrics metrics = new ParkingLotMetrics(floors);
+        for (ParkingFloor floor : floors) {
+            floor.addSpotStateListener(metrics);
+            for (ParkingSpot spot : floor.getSpots()) {
+                metrics.sync(spot);
+            }
+        }
+        return metrics;
+    }
+
+    @Override
+    public void onSpotParked(ParkingSpot spot) {
+        sync(spot);
+    }
+
+    @Override
+    public void onSpotFreed(ParkingSpot spot) {
+        sync(spot);
+    }
+
+    @Override
+    public void onSpotReserved(ParkingSpot spot) {
+        sync(spot);
+    }
+
+    @Override
+    public void onReservationReleased(ParkingSpot spot) {
+        sync(spot);
+    }
+
+    /*
+     * Reconciles the spot's counted bit with its current state, and moves the counters only when
+     * the bit flips. The scan and a notification may both see the same transition, and a claimed
+     * reservation stays occupied, so counting transitions directly would drift. Each caller
+     * re-reads the state after writing the bit, so the last writer always leaves it current.
+     */
+    private void sync(ParkingSpot spot) {
+        FloorOccupancy floor = occupancyByFloor.get(spot.getFloor());
+        while (true) {
+            boolean occupied = !spot.isFree();
+            int delta = floor.mark(spot.getFloorIndex(), occupied);
+            if (delta != 0) {
+                floor.occupied.add(delta);
+                occupiedByType.get(spot.getSpotType()).add(delta);
+            }
+            if (spot.isFree() != occupied) {
+                return;
+            }
+        }
+    }
+
+    public void recordEntry(long nanos) {
+        entryLatency.record(nanos);
+    }
+
+    public void recordExit(long nanos) {
+        exitLatency.record(nanos);
+    }
+
+    public void recordRejection() {
+        rejections.increment();
+    }
+
+    public long getOccupied(SpotType spotType) {
+        return occupiedByType.get(spotType).sum();
+    }
+
+    public long getCapacity(SpotType spotType) {
+        return capacityByType.get(spotType);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> floorOccupancy = new LinkedHashMap<>();
+        Map<String, Long> floorCapacity = new LinkedHashMap<>();
+        for (ParkingFloor floor : floors) {
+            floorOccupancy.put(floor.getFloorId(), occupancyByFloor.get(floor).occupied.sum());
+            floorCapacity.put(floor.getFloorId(), (long) floor.getSpots().size());
+        }
+        Map<SpotType, Long> typeOccupancy = new EnumMap<>(SpotType.class);
+        for (Map.Entry<SpotType, LongAdder> entry : occupiedByType.entrySet()) {
+            typeOccupancy.put(entry.getKey(), entry.getValue().sum());
+        }
+        return new MetricsSnapshot(System.currentTimeMillis(), floorOccupancy, floorCapacity,
+                typeOccupancy, new EnumMap<>(capacityByType),
+                entryLatency.snapshot(), exitLatency.snapshot(), rejections.sum());
+    }
+
+    // One bit per spot, set while the spot is counted as occupied
+    private static class FloorOccupancy {
+        private final LongAdder occupied = new LongAdder();
+        private final AtomicLongArray counted;
+
+        FloorOccupancy(int spots) {
+            this.counted = new AtomicLongArray((spots + 63) >>> 6);
+        }
+
+        // Sets or clears the spot's bit; returns +1 or -1 if it flipped, 0 if it already matched
+        int mark(int position, boolean occupied) {
+            int word = position >>> 6;
+            long bit = 1L << position;
+            while (true) {
+                long current = counted.get(word);
+                if (((current & bit) != 0) == occupied) {
+                    return 0;
+                }
+                if (counted.compareAndSet(word, current, current ^ bit)) {
+                    return occupied ? 1 : -1;
+                }
+            }
+        }
+    }
+}
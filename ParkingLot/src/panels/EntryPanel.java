@@ -1,25 +1,183 @@
 package panels;
 
 import entity.*;
+import exceptions.LotFullException;
+import generator.SnowflakeIdGenerator;
+import interfaces.IdGenerator;
 import interfaces.SlotAllocationStrategy;
+import metrics.ParkingLotMetrics;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class EntryPanel {
+    // Shared so that panels created without their own generator still never repeat a ticket ID
+    private static final IdGenerator DEFAULT_ID_GENERATOR = new SnowflakeIdGenerator(0);
+
     private final String panelId;
     private final SlotAllocationStrategy slotAllocationStrategy;
+    private final IdGenerator idGenerator;
+    private TicketRegistry ticketRegistry;
+    private ParkingLotMetrics metrics;
+    private Clock clock = Clock.systemUTC();
 
     public EntryPanel(String panelId, SlotAllocationStrategy slotAllocationStrategy) {
+        this(panelId, slotAllocationStrategy, DEFAULT_ID_GENERATOR);
+    }
+
+    public EntryPanel(String panelId, SlotAllocationStrategy slotAllocationStrategy, IdGenerator idGenerator) {
         this.panelId = panelId;
         this.slotAllocationStrategy = slotAllocationStrategy;
+        this.idGenerator = idGenerator;
+    }
+
+    // Set by ParkingLot so that issued tickets become visible as active sessions
+    public void setTicketRegistry(TicketRegistry ticketRegistry) {
+        this.ticketRegistry = ticketRegistry;
+    }
+
+    // Set by ParkingLot to record entry latency and rejections
+    public void setMetrics(ParkingLotMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // Source of ticket entry times; a simulated clock lets load runs cover hours in seconds
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @throws LotFullException if no free spot fits the vehicle
+     * @throws IllegalStateException if the vehicle is already parked
+     */
+    public Ticket issueTicket(Vehicle vehicle, List<ParkingFloor> floors) {
+        long start = System.nanoTime();
+        try {
+            Ticket ticket = allocateAndIssue(vehicle, floors);
+            if (metrics != null) metrics.recordEntry(System.nanoTime() - start);
+            return ticket;
+        } catch (RuntimeException e) {
+            if (metrics != null) metrics.recordRejection();
+            throw e;
+        }
+    }
+
+    // Lock-free: a spot handed out by the strategy is only ours once the CAS claim succeeds,
+    // so panels sharing a strategy retry instead of double-booking.
+    private Ticket allocateAndIssue(Vehicle vehicle, List<ParkingFloor> floors) {
+        if (ticketRegistry != null && ticketRegistry.isActive(vehicle.getLicensePlate())) {
+            throw new IllegalStateException("Vehicle " + vehicle.getLicensePlate() + " is already parked");
+        }
+        while (true) {
+            ParkingSpot spot = slotAllocationStrategy.allocateSpot(floors, vehicle);
+            if (spot == null) {
+                throw new LotFullException("No spot available");
+            }
+            if (spot.tryClaim(vehicle)) {
+                Ticket ticket = new Ticket(idGenerator.nextId(), vehicle, spot, clock.millis());
+                register(ticket);
+                return ticket;
+            }
+            Thread.onSpinWait();
+        }
     }
 
-    public synchronized Ticket issueTicket(Vehicle vehicle, List<ParkingFloor> floors) {
-        ParkingSpot spot = slotAllocationStrategy.allocateSpot(floors, vehicle);
-        if (spot == null) {
-            throw new RuntimeException("No spot available");
+    /**
+     * Issues a ticket on the spot held by the reservation.
+     *
+     * @throws IllegalStateException if the reservation expired or was cancelled first
+     */
+    public Ticket issueTicket(Reservation reservation, Vehicle vehicle) {
+        long start = System.nanoTime();
+        ParkingSpot spot = reservation.getParkingSpot();
+        if (!spot.claimReservation(reservation, vehicle)) {
+            if (metrics != null) metrics.recordRejection();
+            throw new IllegalStateException("Reservation " + reservation.getReservationId() + " is no longer held");
         }
-        spot.parkVehicle(vehicle);
-        return new Ticket(vehicle, spot);
+        Ticket ticket = new Ticket(idGenerator.nextId(), vehicle, spot, clock.millis());
+        register(ticket);
+        if (metrics != null) metrics.recordEntry(System.nanoTime() - start);
+        return ticket;
+    }
+
+    /**
+     * Issues tickets for a burst of vehicles using one batched allocation pass.
+     * Every vehicle gets its own result; a full lot or a duplicate plate rejects only that vehicle.
+     */
+    public List<EntryResult> issueTickets(List<Vehicle> vehicles, List<ParkingFloor> floors) {
+        long start = System.nanoTime();
+        EntryResult[] results = new EntryResult[vehicles.size()];
+        List<Vehicle> eligible = new ArrayList<>(vehicles.size());
+        List<Integer> eligibleIndexes = new ArrayList<>(vehicles.size());
+        Set<String> platesInBatch = new HashSet<>();
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            String plate = vehicle.getLicensePlate();
+            if (!platesInBatch.add(plate)
+                    || (ticketRegistry != null && ticketRegistry.isActive(plate))) {
+                results[i] = EntryResult.rejected(vehicle, "Vehicle " + plate + " is already parked");
+                continue;
+            }
+            eligible.add(vehicle);
+            eligibleIndexes.add(i);
+        }
+
+        List<ParkingSpot> spots = slotAllocationStrategy.allocateSpots(floors, eligible);
+        for (int i = 0; i < eligible.size(); i++) {
+            Vehicle vehicle = eligible.get(i);
+            ParkingSpot spot = spots.get(i);
+            results[eligibleIndexes.get(i)] = spot == null
+                    ? EntryResult.rejected(vehicle, "No spot available")
+                    : claim(vehicle, spot, floors);
+        }
+        if (metrics != null) {
+            // Every vehicle in the burst waited for the whole batch
+            long elapsed = System.nanoTime() - start;
+            for (EntryResult result : results) {
+                if (result.isAccepted()) {
+                    metrics.recordEntry(elapsed);
+                } else {
+                    metrics.recordRejection();
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private EntryResult claim(Vehicle vehicle, ParkingSpot spot, List<ParkingFloor> floors) {
+        try {
+            if (spot.tryClaim(vehicle)) {
+                Ticket ticket = new Ticket(idGenerator.nextId(), vehicle, spot, clock.millis());
+                register(ticket);
+                return EntryResult.accepted(ticket);
+            }
+            // Another panel took the batch's candidate; fall back to the single-vehicle path
+            return EntryResult.accepted(allocateAndIssue(vehicle, floors));
+        } catch (RuntimeException e) {
+            return EntryResult.rejected(vehicle, e.getMessage());
+        }
+    }
+
+    private void register(Ticket ticket) {
+        if (ticketRegistry == null) return;
+        try {
+            ticketRegistry.register(ticket);
+        } catch (RuntimeException e) {
+            // Same plate entered through another gate concurrently, or a listener failed; give the spot back
+            ticketRegistry.remove(ticket);
+            ticket.getParkingSpot().unparkVehicle(ticket.getVehicle());
+            throw e;
+        }
+    }
+
+    public String getPanelId() {
+        return panelId;
+    }
+
+    public SlotAllocationStrategy getSlotAllocationStrategy() {
+        return slotAllocationStrategy;
     }
 }
@@ -1,21 +1,64 @@
 package panels;
 
-import entity.ParkingLot;
 import entity.Ticket;
+import entity.TicketRegistry;
 import interfaces.PricingStrategy;
+import metrics.ParkingLotMetrics;
+
+import java.time.Clock;
 
 public class ExitPanel {
     private final String panelId;
     private final PricingStrategy pricingStrategy;
+    private TicketRegistry ticketRegistry;
+    private ParkingLotMetrics metrics;
+    private Clock clock = Clock.systemUTC();
 
     public ExitPanel(String panelId, PricingStrategy pricingStrategy) {
         this.panelId = panelId;
         this.pricingStrategy = pricingStrategy;
     }
 
+    // Set by ParkingLot so that exits close the matching active session
+    public void setTicketRegistry(TicketRegistry ticketRegistry) {
+        this.ticketRegistry = ticketRegistry;
+    }
+
+    // Set by ParkingLot to record exit latency
+    public void setMetrics(ParkingLotMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // Source of exit times for pricing; must agree with the entry panels' clock
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
     public double processExit(Ticket ticket) {
-        double fare = pricingStrategy.calculatePrice(ticket, System.currentTimeMillis());
+        long start = System.nanoTime();
+        long exitTime = clock.millis();
+        double fare = pricingStrategy.calculatePrice(ticket, exitTime);
+        if (ticketRegistry != null && !ticketRegistry.close(ticket, fare, exitTime)) {
+            throw new IllegalStateException("Ticket " + ticket.getTicketId() + " is not active");
+        }
         ticket.getParkingSpot().unparkVehicle(ticket.getVehicle());
+        if (metrics != null) metrics.recordExit(System.nanoTime() - start);
         return fare;
     }
+
+    // Exit for gates that read the plate (ANPR) instead of scanning the ticket
+    public double processExitByLicensePlate(String licensePlate) {
+        if (ticketRegistry == null) {
+            throw new IllegalStateException("Exit panel " + panelId + " is not attached to a parking lot");
+        }
+        Ticket ticket = ticketRegistry.findByLicensePlate(licensePlate);
+        if (ticket == null) {
+            throw new IllegalStateException("No active ticket for vehicle " + licensePlate);
+        }
+        return processExit(ticket);
+    }
+
+    public String getPanelId() {
+        return panelId;
+    }
 }
@@ -0,0 +1,435 @@
+package persistence;
+
+import entity.ParkingFloor;
+import entity.ParkingLot;
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.TicketRegistry;
+import entity.Vehicle;
+import enums.VehicleType;
+import interfaces.TicketLifecycleListener;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only binary journal of PARK and UNPARK events, written through a memory-mapped file,
+ * plus periodic snapshots of the active sessions.
+ *
+ * Appending only copies bytes into the mapping, so a process crash loses nothing. A background
+ * thread forces the mapping to disk every flush interval; this group-commits every event appended
+ * since the previous force, and at most one interval is exposed to an OS crash or power loss.
+ *
+ * A checkpoint writes all active tickets to a snapshot file, forces it and its directory to disk,
+ * and only then starts a new journal generation. It also runs when the journal fills up. Recovery loads the snapshot and replays the journal tail
+ * when both belong to the same generation.
+ *
+ * Journal layout: header {int magic, int version, long generation}, then records padded to 8
+ * bytes {long size, long commit word (generation << 8 | type), long ticketId, int spotId, long time,
+ * double fare, byte vehicleType, short plateLength, plate bytes}. An appender claims its slot by
+ * CAS-ing the size into the slot's first word, which is zero until then, so the sizes chain every
+ * claimed slot up to the high-water mark even if an appender dies mid-record. The commit word is
+ * written last with release semantics; recovery skips slots whose commit word is missing and stops
+ * at the first zero size. A checkpoint zeroes the used region, so the next generation starts clean.
+ */
+public class ParkingJournal implements TicketLifecycleListener, Closeable {
+    private static final int JOURNAL_MAGIC = 0x504B4A4C;
+    private static final int SNAPSHOT_MAGIC = 0x504B534E;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int FIXED_RECORD_SIZE = 47;
+    private static final int RECORD_ALIGNMENT = 8;
+    // Aligned 8-byte access to the mapping, for the claim CAS and the release store of the commit word
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final byte PARK = 1;
+    private static final byte UNPARK = 2;
+
+    private static final int DEFAULT_CAPACITY = 64 * 1024 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 5;
+    private static final long DEFAULT_CHECKPOINT_INTERVAL_MILLIS = 60_000;
+
+    private final Path snapshotFile;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    // End of the claimed slots; appenders that lose a claim help move it past the winner's slot
+    private final AtomicLong position = new AtomicLong(HEADER_SIZE);
+    // Appends share the read side; a checkpoint takes the write side to switch generations
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler;
+    private final long checkpointIntervalMillis;
+    private long generation;
+    private TicketRegistry ticketRegistry;
+    private volatile IOException checkpointFailure;
+
+    private ParkingJournal(Path directory, int capacity, long flushIntervalMillis, long checkpointIntervalMillis)
+            throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve("parking.snapshot");
+        this.capacity = capacity;
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+        this.channel = FileChannel.open(directory.resolve("parking.journal"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        if (buffer.getInt(0) != JOURNAL_MAGIC) {
+            buffer.putInt(0, JOURNAL_MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, 0L);
+        } else if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported journal version " + buffer.getInt(4));
+        }
+        this.generation = buffer.getLong(8);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(buffer::force, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static ParkingJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_CHECKPOINT_INTERVAL_MILLIS);
+    }
+
+    public static ParkingJournal open(Path directory, int capacity, long flushIntervalMillis,
+                                      long checkpointIntervalMillis) throws IOException {
+        return new ParkingJournal(directory, capacity, flushIntervalMillis, checkpointIntervalMillis);
+    }
+
+    /**
+     * Rebuilds the lot's occupancy and active tickets from the snapshot and journal, then starts
+     * journaling the lot's ticket events. Must be called once, before the lot takes traffic.
+     *
+     * @return the number of sessions restored
+     */
+    public int recover(ParkingLot parkingLot) throws IOException {
+        int spotCount = 0;
+        for (ParkingFloor floor : parkingLot.getParkingFloors()) {
+            spotCount += floor.getSpots().size();
+        }
+        Map<Long, SessionRecord> sessions = new LinkedHashMap<>(spotCount * 2);
+        long snapshotGeneration = readSnapshot(sessions);
+        // A mismatch means the crash came after a snapshot was written but before the journal was reset
+        boolean journalCurrent = snapshotGeneration == generation;
+        if (journalCurrent) {
+            replayJournal(sessions);
+        } else {
+            position.set(journalEnd());
+        }
+
+        Map<Integer, ParkingSpot> spotsById = new HashMap<>(spotCount * 2);
+        for (ParkingFloor floor : parkingLot.getParkingFloors()) {
+            for (ParkingSpot spot : floor.getSpots()) {
+                spotsById.put(spot.getSpotId(), spot);
+            }
+        }
+        TicketRegistry registry = parkingLot.getTicketRegistry();
+        int restored = 0;
+        for (SessionRecord session : sessions.values()) {
+            ParkingSpot spot = spotsById.get(session.spotId);
+            Vehicle vehicle = new Vehicle(session.licensePlate, session.vehicleType);
+            if (spot != null && spot.tryClaim(vehicle)) {
+                registry.register(new Ticket(session.ticketId, vehicle, spot, session.entryTime));
+                restored++;
+            }
+        }
+
+        this.ticketRegistry = registry;
+        registry.addListener(this);
+        if (!journalCurrent) {
+            checkpoint();
+        }
+        // Otherwise new events are appended after the replayed tail
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly,
+                checkpointIntervalMillis, checkpointIntervalMillis, TimeUnit.MILLISECONDS);
+        return restored;
+    }
+
+    @Override
+    public void onTicketIssued(Ticket ticket) {
+        append(PARK, ticket, ticket.getEntryTime(), 0.0);
+    }
+
+    @Override
+    public void onTicketClosed(Ticket ticket, double fare, long exitTime) {
+        append(UNPARK, ticket, exitTime, fare);
+    }
+
+    private void append(byte type, Ticket ticket, long time, double fare) {
+        byte[] plate = ticket.getVehicle().getLicensePlate().getBytes(StandardCharsets.UTF_8);
+        int size = align(FIXED_RECORD_SIZE + plate.length);
+        while (true) {
+            checkpointLock.readLock().lock();
+            try {
+                int at = claim(size);
+                if (at >= 0) {
+                    buffer.putLong(at + 16, ticket.getTicketId());
+                    buffer.putInt(at + 24, ticket.getParkingSpot().getSpotId());
+                    buffer.putLong(at + 28, time);
+                    buffer.putDouble(at + 36, fare);
+                    buffer.put(at + 44, (byte) ticket.getVehicle().getType().ordinal());
+                    buffer.putShort(at + 45, (short) plate.length);
+                    buffer.put(at + FIXED_RECORD_SIZE, plate);
+                    LONG.setRelease(buffer, at + 8, (generation << 8) | type);
+                    return;
+                }
+            } finally {
+                checkpointLock.readLock().unlock();
+            }
+            checkpointIfFull(size);
+        }
+    }
+
+    // Claims the slot at the end of the journal by writing its size there; returns -1 if it does not fit
+    private int claim(int size) {
+        while (true) {
+            long at = position.get();
+            if (at + size > capacity) {
+                return -1;
+            }
+            if (LONG.compareAndSet(buffer, (int) at, 0L, (long) size)) {
+                position.compareAndSet(at, at + size);
+                return (int) at;
+            }
+            long claimed = (long) LONG.getVolatile(buffer, (int) at);
+            position.compareAndSet(at, at + claimed);
+        }
+    }
+
+    // Forces every appended event to disk now instead of waiting for the next group commit
+    public void flush() {
+        buffer.force();
+    }
+
+    /**
+     * Writes a snapshot of all active tickets and starts a new, empty journal generation.
+     * Appends wait while this runs.
+     */
+    public void checkpoint() throws IOException {
+        checkpointLock.writeLock().lock();
+        try {
+            long nextGeneration = generation + 1;
+            writeSnapshot(nextGeneration);
+            clearRecords();
+            buffer.putLong(8, nextGeneration);
+            buffer.force();
+            generation = nextGeneration;
+            position.set(HEADER_SIZE);
+            checkpointFailure = null;
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Zeroes the claimed slots from the last word back to the first. A crash part way through
+     * leaves a zeroed tail, so the size chain still ends at a zero word and every word after it is zero.
+     */
+    private void clearRecords() {
+        for (int at = (int) position.get() - Long.BYTES; at >= HEADER_SIZE; at -= Long.BYTES) {
+            buffer.putLong(at, 0L);
+        }
+    }
+
+    private void checkpointIfFull(int size) {
+        checkpointLock.writeLock().lock();
+        try {
+            if (position.get() + size > capacity) {
+                checkpoint();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal is full and checkpoint failed", e);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    // Journal keeps growing after a failure; the next checkpoint or a full journal will retry
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException e) {
+            checkpointFailure = e;
+        }
+    }
+
+    /**
+     * @return why the last background checkpoint failed, or null if it succeeded or none has run
+     */
+    public IOException getCheckpointFailure() {
+        return checkpointFailure;
+    }
+
+    // Active tickets are read from the registry, which events update before they are journaled,
+    // so replay treats a PARK for a known ticket and an UNPARK for an unknown one as no-ops.
+    // The snapshot and its rename are on disk before this returns, so the journal can then be cleared.
+    private void writeSnapshot(long snapshotGeneration) throws IOException {
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel file = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(file), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(snapshotGeneration);
+            Ticket[] tickets = ticketRegistry == null
+                    ? new Ticket[0]
+                    : ticketRegistry.getActiveTickets().toArray(new Ticket[0]);
+            out.writeInt(tickets.length);
+            for (Ticket ticket : tickets) {
+                byte[] plate = ticket.getVehicle().getLicensePlate().getBytes(StandardCharsets.UTF_8);
+                out.writeLong(ticket.getTicketId());
+                out.writeInt(ticket.getParkingSpot().getSpotId());
+                out.writeLong(ticket.getEntryTime());
+                out.writeByte(ticket.getVehicle().getType().ordinal());
+                out.writeShort(plate.length);
+                out.write(plate);
+            }
+            out.flush();
+            file.force(true);
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(snapshotFile.getParent());
+    }
+
+    // Makes the rename durable. Windows cannot open a directory as a channel; there it is left to the file system.
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (AccessDeniedException e) {
+            if (!System.getProperty("os.name").startsWith("Windows")) {
+                throw e;
+            }
+        }
+    }
+
+    // Returns the snapshot's generation, or -1 if there is no snapshot yet
+    private long readSnapshot(Map<Long, SessionRecord> sessions) throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return -1;
+        }
+        try (FileChannel in = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer snapshot = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            if (snapshot.getInt() != SNAPSHOT_MAGIC || snapshot.getInt() != VERSION) {
+                throw new IOException("Unrecognised snapshot file " + snapshotFile);
+            }
+            long snapshotGeneration = snapshot.getLong();
+            int count = snapshot.getInt();
+            for (int i = 0; i < count; i++) {
+                long ticketId = snapshot.getLong();
+                int spotId = snapshot.getInt();
+                long entryTime = snapshot.getLong();
+                VehicleType vehicleType = VehicleType.values()[snapshot.get()];
+                byte[] plate = new byte[snapshot.getShort()];
+                snapshot.get(plate);
+                sessions.put(ticketId, new SessionRecord(ticketId, spotId, entryTime, vehicleType,
+                        new String(plate, StandardCharsets.UTF_8)));
+            }
+            return snapshotGeneration;
+        }
+    }
+
+    private void replayJournal(Map<Long, SessionRecord> sessions) {
+        // An exit can be journaled before its own entry when both race on different threads
+        Set<Long> closed = new HashSet<>();
+        int at = HEADER_SIZE;
+        int size;
+        while ((size = slotSize(at)) > 0) {
+            long commit = buffer.getLong(at + 8);
+            // An uncommitted slot belongs to an appender that died mid-record; later slots may still be committed
+            if ((commit >>> 8) == generation) {
+                byte type = (byte) commit;
+                long ticketId = buffer.getLong(at + 16);
+                if (type == PARK && !closed.contains(ticketId)) {
+                    byte[] plate = new byte[buffer.getShort(at + 45)];
+                    buffer.get(at + FIXED_RECORD_SIZE, plate);
+                    sessions.putIfAbsent(ticketId, new SessionRecord(ticketId, buffer.getInt(at + 24),
+                            buffer.getLong(at + 28), VehicleType.values()[buffer.get(at + 44)],
+                            new String(plate, StandardCharsets.UTF_8)));
+                } else if (type == UNPARK) {
+                    sessions.remove(ticketId);
+                    closed.add(ticketId);
+                }
+            }
+            at += size;
+        }
+        position.set(at);
+    }
+
+    // High-water mark: the end of the last claimed slot
+    private int journalEnd() {
+        int at = HEADER_SIZE;
+        int size;
+        while ((size = slotSize(at)) > 0) {
+            at += size;
+        }
+        return at;
+    }
+
+    // Size of the slot claimed at this offset, or 0 at the end of the chain
+    private int slotSize(int at) {
+        if (at + FIXED_RECORD_SIZE > capacity) {
+            return 0;
+        }
+        long size = buffer.getLong(at);
+        if (size < FIXED_RECORD_SIZE || size > capacity - at || size % RECORD_ALIGNMENT != 0) {
+            return 0;
+        }
+        return (int) size;
+    }
+
+    private static int align(int size) {
+        return (size + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        if (ticketRegistry != null) {
+            ticketRegistry.removeListener(this);
+        }
+        buffer.force();
+        channel.close();
+    }
+
+    private static class SessionRecord {
+        private final long ticketId;
+        private final int spotId;
+        private final long entryTime;
+        private final VehicleType vehicleType;
+        private final String licensePlate;
+
+        SessionRecord(long ticketId, int spotId, long entryTime, VehicleType vehicleType, String licensePlate) {
+            this.ticketId = ticketId;
+            this.spotId = spotId;
+            this.entryTime = entryTime;
+            this.vehicleType = vehicleType;
+            this.licensePlate = licensePlate;
+        }
+    }
+}
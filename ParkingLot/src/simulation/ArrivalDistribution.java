@@ -0,0 +1,49 @@
+package simulation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of random intervals in milliseconds: the gap between two arrivals, or how long a
+ * vehicle stays parked. A distribution keeps no state of its own, so one instance can be reused
+ * across runs and each run is repeatable from its seed.
+ */
+public interface ArrivalDistribution {
+
+    /**
+     * @param index  the vehicle's position in the run, from 0
+     * @param random the run's seeded generator
+     */
+    long nextMillis(int index, RandomGenerator random);
+
+    static ArrivalDistribution fixed(long millis) {
+        return (index, random) -> millis;
+    }
+
+    static ArrivalDistribution uniform(long minMillis, long maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("Empty range: " + minMillis + ".." + maxMillis);
+        }
+        return (index, random) -> minMillis + random.nextLong(maxMillis - minMillis + 1);
+    }
+
+    // Independent arrivals at an average rate: exponentially distributed gaps
+    static ArrivalDistribution poisson(double perMinute) {
+        if (perMinute <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + perMinute);
+        }
+        double meanMillis = 60_000 / perMinute;
+        return (index, random) -> Math.round(-meanMillis * Math.log(1 - random.nextDouble()));
+    }
+
+    /**
+     * Platoons of vehicles, e.g. a shift change or the end of an event: {@code burstSize}
+     * arrivals {@code withinMillis} apart, then a pause of {@code betweenMillis}. Each burst
+     * starts with the pause, at a vehicle index that is a multiple of the burst size.
+     */
+    static ArrivalDistribution bursts(int burstSize, long withinMillis, long betweenMillis) {
+        if (burstSize <= 0) {
+            throw new IllegalArgumentException("Burst size must be positive: " + burstSize);
+        }
+        return (index, random) -> index % burstSize == 0 ? betweenMillis : withinMillis;
+    }
+}
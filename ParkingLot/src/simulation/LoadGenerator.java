@@ -0,0 +1,393 @@
+package simulation;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.TicketRegistry;
+import entity.Vehicle;
+import enums.SpotType;
+import enums.VehicleType;
+import exceptions.LotFullException;
+import metrics.LatencyHistogram;
+import panels.EntryPanel;
+import panels.ExitPanel;
+import strategy.FirstFreeSlotStrategy;
+import strategy.HourlyPricingStrategy;
+import strategy.IndexedFreeSlotStrategy;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Rush-hour load harness for the entry/exit path. Every simulated vehicle is a virtual thread
+ * that waits for its arrival time, enters through a random EntryPanel, waits out its stay and
+ * leaves through a random ExitPanel. The run reports throughput, rejection rate, latency
+ * percentiles and any spot that was handed to two vehicles at once.
+ *
+ * With a {@link SimulatedClock} the run does not wait in real time: once every vehicle thread is
+ * blocked, the clock jumps to the earliest pending arrival or departure and releases every vehicle
+ * due within the next {@code resolutionMillis} together, so they still race each other on the
+ * panels. An eight-hour day then takes seconds. With any other clock the vehicles sleep for real.
+ *
+ * Run: mvn -B -q compile && java -cp ParkingLot/target/classes:common/target/classes simulation.LoadGenerator [key=value ...]
+ *   vehicles=20000  spots=5000  gates=4  strategy=indexed|first
+ *   arrivals=poisson|uniform|bursts  rate=45 (vehicles per minute)  clock=simulated|real
+ */
+public class LoadGenerator {
+
+    private final List<ParkingFloor> floors;
+    private final List<EntryPanel> entryPanels;
+    private final List<ExitPanel> exitPanels;
+    private final int vehicles;
+    private final ArrivalDistribution arrivals;
+    private final ArrivalDistribution stays;
+    private final VehicleType[] vehicleTypes;
+    private final int[] cumulativeWeights;
+    private final Clock clock;
+    private final long resolutionMillis;
+    private final long seed;
+
+    private LoadGenerator(Builder builder) {
+        this.floors = builder.floors;
+        this.entryPanels = builder.entryPanels;
+        this.exitPanels = builder.exitPanels;
+        this.vehicles = builder.vehicles;
+        this.arrivals = builder.arrivals;
+        this.stays = builder.stays;
+        this.vehicleTypes = builder.vehicleMix.keySet().toArray(new VehicleType[0]);
+        this.cumulativeWeights = new int[vehicleTypes.length];
+        int total = 0;
+        for (int i = 0; i < vehicleTypes.length; i++) {
+            total += builder.vehicleMix.get(vehicleTypes[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.clock = builder.clock;
+        this.resolutionMillis = builder.resolutionMillis;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder(List<ParkingFloor> floors, List<EntryPanel> entryPanels, List<ExitPanel> exitPanels) {
+        return new Builder(floors, entryPanels, exitPanels);
+    }
+
+    /**
+     * Runs the whole scenario and returns once every vehicle has left or been turned away.
+     * The panels are switched to this generator's clock for the run.
+     */
+    public LoadReport run() throws InterruptedException {
+        for (EntryPanel entryPanel : entryPanels) entryPanel.setClock(clock);
+        for (ExitPanel exitPanel : exitPanels) exitPanel.setClock(clock);
+
+        // The schedule is drawn up front from the seed so that runs are repeatable
+        SplittableRandom random = new SplittableRandom(seed);
+        long startMillis = clock.millis();
+        long[] arriveAt = new long[vehicles];
+        long[] leaveAt = new long[vehicles];
+        Vehicle[] fleet = new Vehicle[vehicles];
+        long time = startMillis;
+        for (int i = 0; i < vehicles; i++) {
+            time += arrivals.nextMillis(i, random);
+            arriveAt[i] = time;
+            leaveAt[i] = time + stays.nextMillis(i, random);
+            fleet[i] = new Vehicle("SIM-" + i, pickType(random));
+        }
+
+        long freeBefore = countFree();
+        Run run = new Run(clock, clock instanceof SimulatedClock simulated
+                ? new SimulatedTimeline(simulated, resolutionMillis, vehicles)
+                : null);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < vehicles; i++) {
+                int index = i;
+                executor.execute(() -> visit(run, fleet[index], arriveAt[index], leaveAt[index]));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new LoadReport(vehicles, run.entered.sum(), run.rejected.sum(), run.exited.sum(),
+                run.doubleAllocations.sum(), run.errors.sum(), freeBefore - countFree(),
+                clock.millis() - startMillis, elapsed,
+                run.entryLatency.snapshot(), run.exitLatency.snapshot());
+    }
+
+    private void visit(Run run, Vehicle vehicle, long arriveAt, long leaveAt) {
+        try {
+            run.sleepUntil(arriveAt);
+            EntryPanel entryPanel = entryPanels.get(ThreadLocalRandom.current().nextInt(entryPanels.size()));
+            Ticket ticket;
+            long start = System.nanoTime();
+            try {
+                ticket = entryPanel.issueTicket(vehicle, floors);
+            } catch (LotFullException e) {
+                run.rejected.increment();
+                return;
+            }
+            run.entryLatency.record(System.nanoTime() - start);
+            run.entered.increment();
+            ParkingSpot spot = ticket.getParkingSpot();
+            if (run.holders.putIfAbsent(spot, vehicle) != null) {
+                run.doubleAllocations.increment();
+            }
+
+            run.sleepUntil(leaveAt);
+            // Let go before the spot is freed, or its next vehicle could look like a double allocation
+            run.holders.remove(spot, vehicle);
+            ExitPanel exitPanel = exitPanels.get(ThreadLocalRandom.current().nextInt(exitPanels.size()));
+            start = System.nanoTime();
+            exitPanel.processExit(ticket);
+            run.exitLatency.record(System.nanoTime() - start);
+            run.exited.increment();
+        } catch (RuntimeException e) {
+            run.errors.increment();
+        } finally {
+            run.finish();
+        }
+    }
+
+    private VehicleType pickType(SplittableRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (draw >= cumulativeWeights[i]) i++;
+        return vehicleTypes[i];
+    }
+
+    private long countFree() {
+        long free = 0;
+        for (ParkingFloor floor : floors) {
+            for (ParkingSpot spot : floor.getSpots()) {
+                if (spot.isFree()) free++;
+            }
+        }
+        return free;
+    }
+
+    // Counters and bookkeeping for a single run
+    private static class Run {
+        private final Clock clock;
+        private final SimulatedTimeline timeline;
+        private final LongAdder entered = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder exited = new LongAdder();
+        private final LongAdder doubleAllocations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram entryLatency = new LatencyHistogram();
+        private final LatencyHistogram exitLatency = new LatencyHistogram();
+        // Spot -> vehicle currently holding it according to the tickets issued so far
+        private final Map<ParkingSpot, Vehicle> holders = new ConcurrentHashMap<>();
+
+        Run(Clock clock, SimulatedTimeline timeline) {
+            this.clock = clock;
+            this.timeline = timeline;
+        }
+
+        void sleepUntil(long wakeAt) {
+            if (timeline != null) {
+                timeline.sleepUntil(wakeAt);
+                return;
+            }
+            try {
+                long delay = wakeAt - clock.millis();
+                if (delay > 0) Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting", e);
+            }
+        }
+
+        void finish() {
+            if (timeline != null) timeline.finish();
+        }
+    }
+
+    /**
+     * Discrete-event time for the vehicle threads. It counts the threads that are runnable;
+     * when the last one goes to sleep or finishes, the clock moves to the earliest wake-up and
+     * every sleeper due within the resolution is released at once.
+     */
+    private static class SimulatedTimeline {
+        private final SimulatedClock clock;
+        private final long resolutionMillis;
+        private final PriorityQueue<Sleeper> sleepers = new PriorityQueue<>((a, b) -> Long.compare(a.wakeAt, b.wakeAt));
+        private int running;
+
+        SimulatedTimeline(SimulatedClock clock, long resolutionMillis, int threads) {
+            this.clock = clock;
+            this.resolutionMillis = resolutionMillis;
+            // Every thread counts as running until it first sleeps, so time cannot move before all have started
+            this.running = threads;
+        }
+
+        void sleepUntil(long wakeAt) {
+            Sleeper sleeper = new Sleeper(wakeAt, Thread.currentThread());
+            synchronized (this) {
+                sleepers.add(sleeper);
+                running--;
+                if (running == 0) releaseNext();
+            }
+            while (!sleeper.released) {
+                LockSupport.park(this);
+            }
+        }
+
+        synchronized void finish() {
+            running--;
+            if (running == 0) releaseNext();
+        }
+
+        private void releaseNext() {
+            if (sleepers.isEmpty()) return;
+            long now = sleepers.peek().wakeAt;
+            clock.advanceTo(now);
+            while (!sleepers.isEmpty() && sleepers.peek().wakeAt < now + resolutionMillis) {
+                Sleeper sleeper = sleepers.poll();
+                running++;
+                sleeper.released = true;
+                LockSupport.unpark(sleeper.thread);
+            }
+        }
+
+        private static class Sleeper {
+            private final long wakeAt;
+            private final Thread thread;
+            private volatile boolean released;
+
+            Sleeper(long wakeAt, Thread thread) {
+                this.wakeAt = wakeAt;
+                this.thread = thread;
+            }
+        }
+    }
+
+    public static class Builder {
+        private final List<ParkingFloor> floors;
+        private final List<EntryPanel> entryPanels;
+        private final List<ExitPanel> exitPanels;
+        private int vehicles = 10_000;
+        private ArrivalDistribution arrivals = ArrivalDistribution.poisson(60);
+        private ArrivalDistribution stays = ArrivalDistribution.uniform(15 * 60_000L, 4 * 3_600_000L);
+        private final Map<VehicleType, Integer> vehicleMix = new EnumMap<>(VehicleType.class);
+        private Clock clock = new SimulatedClock(System.currentTimeMillis());
+        private long resolutionMillis = 1000;
+        private long seed = 42;
+
+        private Builder(List<ParkingFloor> floors, List<EntryPanel> entryPanels, List<ExitPanel> exitPanels) {
+            if (entryPanels.isEmpty() || exitPanels.isEmpty()) {
+                throw new IllegalArgumentException("At least one entry and one exit panel are required");
+            }
+            this.floors = floors;
+            this.entryPanels = entryPanels;
+            this.exitPanels = exitPanels;
+        }
+
+        public Builder vehicles(int vehicles) {
+            this.vehicles = vehicles;
+            return this;
+        }
+
+        // Gap between consecutive arrivals
+        public Builder arrivals(ArrivalDistribution arrivals) {
+            this.arrivals = arrivals;
+            return this;
+        }
+
+        // How long each admitted vehicle stays
+        public Builder stays(ArrivalDistribution stays) {
+            this.stays = stays;
+            return this;
+        }
+
+        // Relative share of a vehicle type; types never given a weight do not appear. Default is all equal.
+        public Builder vehicleMix(VehicleType vehicleType, int weight) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight must be positive: " + weight);
+            }
+            vehicleMix.put(vehicleType, weight);
+            return this;
+        }
+
+        // A SimulatedClock runs in simulated time; any other clock runs in real time
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        // Simulated events closer together than this are released concurrently
+        public Builder resolutionMillis(long resolutionMillis) {
+            this.resolutionMillis = resolutionMillis;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public LoadGenerator build() {
+            if (vehicleMix.isEmpty()) {
+                for (VehicleType vehicleType : VehicleType.values()) {
+                    vehicleMix.put(vehicleType, 1);
+                }
+            }
+            return new LoadGenerator(this);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        int vehicles = Integer.parseInt(options.getOrDefault("vehicles", "20000"));
+        int spots = Integer.parseInt(options.getOrDefault("spots", "5000"));
+        int gates = Integer.parseInt(options.getOrDefault("gates", "4"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "45"));
+        ArrivalDistribution arrivals = switch (options.getOrDefault("arrivals", "poisson")) {
+            case "uniform" -> ArrivalDistribution.uniform(0, Math.round(2 * 60_000 / rate));
+            case "bursts" -> ArrivalDistribution.bursts(50, 1000, Math.max(0, Math.round(50 * 60_000 / rate) - 49_000));
+            default -> ArrivalDistribution.poisson(rate);
+        };
+
+        List<ParkingSpot> spotList = new ArrayList<>();
+        for (int id = 0; id < spots; id++) {
+            spotList.add(new ParkingSpot(id, SpotType.values()[id % 3]));
+        }
+        List<ParkingFloor> floors = List.of(new ParkingFloor(spotList, "Floor-1"));
+        var strategy = "first".equals(options.get("strategy")) ? new FirstFreeSlotStrategy() : new IndexedFreeSlotStrategy();
+        TicketRegistry registry = new TicketRegistry();
+        List<EntryPanel> entryPanels = new ArrayList<>();
+        List<ExitPanel> exitPanels = new ArrayList<>();
+        for (int g = 1; g <= gates; g++) {
+            EntryPanel entryPanel = new EntryPanel("Entry-" + g, strategy);
+            ExitPanel exitPanel = new ExitPanel("Exit-" + g, new HourlyPricingStrategy());
+            entryPanel.setTicketRegistry(registry);
+            exitPanel.setTicketRegistry(registry);
+            entryPanels.add(entryPanel);
+            exitPanels.add(exitPanel);
+        }
+
+        LoadReport report = builder(floors, entryPanels, exitPanels)
+                .vehicles(vehicles)
+                .arrivals(arrivals)
+                .vehicleMix(VehicleType.BIKE, 2)
+                .vehicleMix(VehicleType.CAR, 6)
+                .vehicleMix(VehicleType.TRUCK, 1)
+                .clock("real".equals(options.get("clock")) ? Clock.systemUTC() : new SimulatedClock(System.currentTimeMillis()))
+                .build()
+                .run();
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,101 @@
+package simulation;
+
+import metrics.LatencyHistogram;
+
+/**
+ * Outcome of one {@link LoadGenerator} run. Latencies are wall-clock nanoseconds even when the
+ * run used a simulated clock.
+ */
+public class LoadReport {
+    private final int vehicles;
+    private final long entered;
+    private final long rejected;
+    private final long exited;
+    private final long doubleAllocations;
+    private final long errors;
+    private final long leakedSpots;
+    private final long simulatedMillis;
+    private final long elapsedNanos;
+    private final LatencyHistogram.Snapshot entryLatency;
+    private final LatencyHistogram.Snapshot exitLatency;
+
+    public LoadReport(int vehicles, long entered, long rejected, long exited,
+                      long doubleAllocations, long errors, long leakedSpots, long simulatedMillis, long elapsedNanos,
+                      LatencyHistogram.Snapshot entryLatency, LatencyHistogram.Snapshot exitLatency) {
+        this.vehicles = vehicles;
+        this.entered = entered;
+        this.rejected = rejected;
+        this.exited = exited;
+        this.doubleAllocations = doubleAllocations;
+        this.errors = errors;
+        this.leakedSpots = leakedSpots;
+        this.simulatedMillis = simulatedMillis;
+        this.elapsedNanos = elapsedNanos;
+        this.entryLatency = entryLatency;
+        this.exitLatency = exitLatency;
+    }
+
+    public int getVehicles() {
+        return vehicles;
+    }
+
+    public long getEntered() {
+        return entered;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getExited() {
+        return exited;
+    }
+
+    // A spot handed to a vehicle while another vehicle still held it; must be zero
+    public long getDoubleAllocations() {
+        return doubleAllocations;
+    }
+
+    // Vehicles whose visit failed with an unexpected exception, e.g. an exit the panel refused
+    public long getErrors() {
+        return errors;
+    }
+
+    // Spots still occupied after every simulated vehicle left; must be zero
+    public long getLeakedSpots() {
+        return leakedSpots;
+    }
+
+    public long getSimulatedMillis() {
+        return simulatedMillis;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRejectionRate() {
+        return vehicles == 0 ? 0 : (double) rejected / vehicles;
+    }
+
+    // Entries, rejections and exits per wall-clock second
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (entered + rejected + exited) * 1e9 / elapsedNanos;
+    }
+
+    public LatencyHistogram.Snapshot getEntryLatency() {
+        return entryLatency;
+    }
+
+    public LatencyHistogram.Snapshot getExitLatency() {
+        return exitLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("vehicles=%d entered=%d rejected=%d (%.2f%%) exited=%d doubleAllocations=%d errors=%d leakedSpots=%d%n"
+                        + "simulated %.1f h in %.2f s, %.0f ops/s%nentry: %s%nexit:  %s",
+                vehicles, entered, rejected, getRejectionRate() * 100, exited, doubleAllocations, errors, leakedSpots,
+                simulatedMillis / 3_600_000.0, elapsedNanos / 1e9, getThroughput(), entryLatency, exitLatency);
+    }
+}
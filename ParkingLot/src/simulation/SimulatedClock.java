@@ -0,0 +1,55 @@
+package simulation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock that only moves when told to. Give it to the panels so that a load run can jump
+ * straight from one batch of arrivals or departures to the next instead of waiting in real time.
+ */
+public class SimulatedClock extends Clock {
+    private final AtomicLong millis;
+    private final ZoneId zone;
+
+    public SimulatedClock(long startMillis) {
+        this(new AtomicLong(startMillis), ZoneOffset.UTC);
+    }
+
+    private SimulatedClock(AtomicLong millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    // Never moves backwards, so concurrent callers cannot undo each other's progress
+    public void advanceTo(long targetMillis) {
+        millis.accumulateAndGet(targetMillis, Math::max);
+    }
+
+    public void advance(long deltaMillis) {
+        millis.addAndGet(deltaMillis);
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis.get());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // The returned clock shares this clock's time
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new SimulatedClock(millis, zone);
+    }
+}
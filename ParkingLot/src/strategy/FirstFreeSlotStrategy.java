@@ -1,5 +1,6 @@
 package strategy;
 
+import entity.CompactSpotStore;
 import entity.ParkingFloor;
 import entity.ParkingSpot;
 import entity.Vehicle;
@@ -7,13 +8,24 @@ import enums.SpotType;
 import enums.VehicleType;
 import interfaces.SlotAllocationStrategy;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public class FirstFreeSlotStrategy implements SlotAllocationStrategy {
 
     @Override
     public ParkingSpot allocateSpot(List<ParkingFloor> parkingFloors, Vehicle vehicle) {
         for (ParkingFloor floor : parkingFloors) {
+            if (floor.isCompact()) {
+                int position = floor.getCompactStore().nextFreeFitting(vehicle.getType(), 0);
+                if (position != -1) {
+                    return floor.getSpots().get(position);
+                }
+                continue;
+            }
             for (ParkingSpot spot : floor.getSpots()) {
                 if (spot.isFree() && canFitVehicle(vehicle, spot)) {
                     return spot;
@@ -23,9 +35,62 @@ public class FirstFreeSlotStrategy implements SlotAllocationStrategy {
         return null;
     }
 
+    // Single scan: each free spot goes to the earliest waiting vehicle that fits it
+    @Override
+    public List<ParkingSpot> allocateSpots(List<ParkingFloor> parkingFloors, List<Vehicle> vehicles) {
+        ParkingSpot[] spots = new ParkingSpot[vehicles.size()];
+        Map<VehicleType, ArrayDeque<Integer>> waiting = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            waiting.put(type, new ArrayDeque<>());
+        }
+        for (int i = 0; i < vehicles.size(); i++) {
+            waiting.get(vehicles.get(i).getType()).add(i);
+        }
+
+        int remaining = vehicles.size();
+        for (ParkingFloor floor : parkingFloors) {
+            if (floor.isCompact()) {
+                // Bikes fit every spot type, so this walks all free positions without creating views
+                CompactSpotStore store = floor.getCompactStore();
+                for (int position = store.nextFreeFitting(VehicleType.BIKE, 0);
+                     position != -1 && remaining > 0;
+                     position = store.nextFreeFitting(VehicleType.BIKE, position + 1)) {
+                    ArrayDeque<Integer> next = nextWaiting(waiting, store.getSpotType(position));
+                    if (next != null) {
+                        spots[next.poll()] = floor.getSpots().get(position);
+                        remaining--;
+                    }
+                }
+                continue;
+            }
+            for (ParkingSpot spot : floor.getSpots()) {
+                if (remaining == 0) return Arrays.asList(spots);
+                if (!spot.isFree()) continue;
+
+                ArrayDeque<Integer> next = nextWaiting(waiting, spot.getSpotType());
+                if (next != null) {
+                    spots[next.poll()] = spot;
+                    remaining--;
+                }
+            }
+        }
+        return Arrays.asList(spots);
+    }
+
+    // Queue of the earliest waiting vehicle that fits the spot type, or null if none fits
+    private ArrayDeque<Integer> nextWaiting(Map<VehicleType, ArrayDeque<Integer>> waiting, SpotType spotType) {
+        ArrayDeque<Integer> next = null;
+        for (Map.Entry<VehicleType, ArrayDeque<Integer>> entry : waiting.entrySet()) {
+            ArrayDeque<Integer> queue = entry.getValue();
+            if (queue.isEmpty() || !entry.getKey().canFitIn(spotType)) continue;
+            if (next == null || queue.peek() < next.peek()) {
+                next = queue;
+            }
+        }
+        return next;
+    }
+
     private boolean canFitVehicle(Vehicle vehicle,ParkingSpot spot) {
-        if(vehicle.getType() == VehicleType.BIKE) return true;
-        if(vehicle.getType() == VehicleType.CAR ) return spot.getSpotType() != enums.SpotType.SMALL;
-        return spot.getSpotType() == SpotType.LARGE;
+        return vehicle.getType().canFitIn(spot.getSpotType());
     }
 }
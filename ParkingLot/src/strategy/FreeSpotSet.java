@@ -0,0 +1,49 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * Set of free spot positions (indexes into a floor's spot list) with O(1) add, remove and pick.
+ * Positions are kept densely packed; removal swaps the last element into the hole.
+ */
+class FreeSpotSet {
+    private final int[] dense;
+    private final int[] slotOf;
+    private int size;
+
+    FreeSpotSet(int floorSize) {
+        this.dense = new int[floorSize];
+        this.slotOf = new int[floorSize];
+        Arrays.fill(slotOf, -1);
+    }
+
+    synchronized void add(int position) {
+        if (slotOf[position] != -1) return;
+        dense[size] = position;
+        slotOf[position] = size++;
+    }
+
+    synchronized void remove(int position) {
+        int slot = slotOf[position];
+        if (slot == -1) return;
+        int last = dense[--size];
+        dense[slot] = last;
+        slotOf[last] = slot;
+        slotOf[position] = -1;
+    }
+
+    // Returns a free position chosen by the hint, or -1 if the set is empty.
+    // Spreading picks lets concurrent panels claim different spots instead of racing for one.
+    synchronized int pick(int hint) {
+        return size == 0 ? -1 : dense[(hint & Integer.MAX_VALUE) % size];
+    }
+
+    // Copies up to max free positions under a single lock acquisition
+    synchronized int[] take(int max) {
+        return Arrays.copyOfRange(dense, size - Math.min(size, max), size);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,132 @@
+package strategy;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import entity.Vehicle;
+import enums.SpotType;
+import interfaces.SlotAllocationStrategy;
+import interfaces.SpotStateListener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Allocation strategy that keeps a free-spot index per floor and per {@link SpotType}.
+ * The index is built the first time a floor is seen and is then kept up to date through
+ * the floor's park/unpark notifications, so allocation does not scan the spot lists.
+ * Floors are tried in order, and within a floor the smallest fitting spot type is preferred.
+ * The returned spot is a candidate; callers claim it with {@link ParkingSpot#tryClaim} and retry on failure.
+ */
+public class IndexedFreeSlotStrategy implements SlotAllocationStrategy {
+
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+    private final Map<ParkingFloor, FloorIndex> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public ParkingSpot allocateSpot(List<ParkingFloor> parkingFloors, Vehicle vehicle) {
+        int hint = ThreadLocalRandom.current().nextInt();
+        for (ParkingFloor floor : parkingFloors) {
+            FloorIndex index = indexes.computeIfAbsent(floor, FloorIndex::new);
+            for (SpotType spotType : SPOT_TYPES) {
+                if (!vehicle.getType().canFitIn(spotType)) continue;
+                int position = index.freeSpots(spotType).pick(hint);
+                if (position != -1) {
+                    return floor.getSpots().get(position);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Each free set is read at most once per batch; candidates are then handed out from that copy
+    @Override
+    public List<ParkingSpot> allocateSpots(List<ParkingFloor> parkingFloors, List<Vehicle> vehicles) {
+        ParkingSpot[] spots = new ParkingSpot[vehicles.size()];
+        Map<FreeSpotSet, Candidates> candidates = new IdentityHashMap<>();
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            search:
+            for (ParkingFloor floor : parkingFloors) {
+                FloorIndex index = indexes.computeIfAbsent(floor, FloorIndex::new);
+                for (SpotType spotType : SPOT_TYPES) {
+                    if (!vehicle.getType().canFitIn(spotType)) continue;
+                    FreeSpotSet set = index.freeSpots(spotType);
+                    int remaining = vehicles.size() - i;
+                    Candidates free = candidates.computeIfAbsent(set, s -> new Candidates(s.take(remaining)));
+                    if (free.next < free.positions.length) {
+                        spots[i] = floor.getSpots().get(free.positions[free.next++]);
+                        break search;
+                    }
+                }
+            }
+        }
+        return Arrays.asList(spots);
+    }
+
+    private static class Candidates {
+        private final int[] positions;
+        private int next;
+
+        Candidates(int[] positions) {
+            this.positions = positions;
+        }
+    }
+
+    private static class FloorIndex implements SpotStateListener {
+        private final Map<SpotType, FreeSpotSet> freeByType = new EnumMap<>(SpotType.class);
+
+        FloorIndex(ParkingFloor floor) {
+            int floorSize = floor.getSpots().size();
+            for (SpotType spotType : SPOT_TYPES) {
+                freeByType.put(spotType, new FreeSpotSet(floorSize));
+            }
+            // Register before the initial scan so no transition is lost while it runs
+            floor.addSpotStateListener(this);
+            for (ParkingSpot spot : floor.getSpots()) {
+                sync(spot);
+            }
+        }
+
+        FreeSpotSet freeSpots(SpotType spotType) {
+            return freeByType.get(spotType);
+        }
+
+        @Override
+        public void onSpotParked(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        @Override
+        public void onSpotFreed(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        @Override
+        public void onSpotReserved(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        @Override
+        public void onReservationReleased(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        // Reconciles against the spot's current state so out-of-order notifications cannot leave stale entries
+        private void sync(ParkingSpot spot) {
+            FreeSpotSet set = freeByType.get(spot.getSpotType());
+            synchronized (set) {
+                if (spot.isFree()) {
+                    set.add(spot.getFloorIndex());
+                } else {
+                    set.remove(spot.getFloorIndex());
+                }
+            }
+        }
+    }
+}
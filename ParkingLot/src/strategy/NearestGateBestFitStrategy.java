@@ -0,0 +1,193 @@
+package strategy;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import entity.Vehicle;
+import enums.SpotType;
+import interfaces.SlotAllocationStrategy;
+import interfaces.SpotStateListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Best-fit allocation for one entry gate: a vehicle gets the smallest {@link SpotType} it fits,
+ * and within that type the free spot nearest to the gate.
+ *
+ * Give each EntryPanel its own instance with that gate's distance function. On first use the
+ * strategy ranks every spot of each type by distance once. From then on it tracks the free ranks
+ * in a two-level bitset that the floors' park/unpark notifications update, so the nearest free
+ * spot is found without scanning or sorting.
+ *
+ * The ranking differs per gate, so each instance keeps its own bitset and registers its own
+ * listener on every floor: with N gates, every park, unpark or reservation change makes N small
+ * synchronized bitset updates. That keeps the lookup independent of occupancy; one free set shared
+ * by all gates would instead make each lookup walk the gate's ranking past every occupied spot.
+ * Where nearness does not matter, one {@link IndexedFreeSlotStrategy} shared by every gate costs
+ * a single update per transition.
+ */
+public class NearestGateBestFitStrategy implements SlotAllocationStrategy {
+
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+    private final ToIntFunction<ParkingSpot> distanceFromGate;
+    private volatile GateIndex index;
+
+    /**
+     * @param distanceFromGate distance of a spot from this strategy's gate, in any unit;
+     *                         called once per spot when the index is built
+     */
+    public NearestGateBestFitStrategy(ToIntFunction<ParkingSpot> distanceFromGate) {
+        this.distanceFromGate = distanceFromGate;
+    }
+
+    @Override
+    public ParkingSpot allocateSpot(List<ParkingFloor> parkingFloors, Vehicle vehicle) {
+        GateIndex gateIndex = indexFor(parkingFloors);
+        for (SpotType spotType : SPOT_TYPES) {
+            if (!vehicle.getType().canFitIn(spotType)) continue;
+            int rank = gateIndex.free.get(spotType).next(0);
+            if (rank != -1) {
+                return gateIndex.spotAt(spotType, rank);
+            }
+        }
+        return null;
+    }
+
+    // One pass: a cursor per spot type walks the free ranks, so each vehicle gets a distinct spot
+    @Override
+    public List<ParkingSpot> allocateSpots(List<ParkingFloor> parkingFloors, List<Vehicle> vehicles) {
+        GateIndex gateIndex = indexFor(parkingFloors);
+        Map<SpotType, Integer> cursors = new EnumMap<>(SpotType.class);
+        ParkingSpot[] spots = new ParkingSpot[vehicles.size()];
+        for (int i = 0; i < spots.length; i++) {
+            for (SpotType spotType : SPOT_TYPES) {
+                if (!vehicles.get(i).getType().canFitIn(spotType)) continue;
+                int from = cursors.getOrDefault(spotType, 0);
+                int rank = from == -1 ? -1 : gateIndex.free.get(spotType).next(from);
+                cursors.put(spotType, rank == -1 ? -1 : rank + 1);
+                if (rank != -1) {
+                    spots[i] = gateIndex.spotAt(spotType, rank);
+                    break;
+                }
+            }
+        }
+        return Arrays.asList(spots);
+    }
+
+    private GateIndex indexFor(List<ParkingFloor> parkingFloors) {
+        GateIndex current = index;
+        if (current != null && current.floors == parkingFloors) {
+            return current;
+        }
+        synchronized (this) {
+            if (index == null || index.floors != parkingFloors) {
+                if (index != null) {
+                    index.detach();
+                }
+                index = new GateIndex(parkingFloors, distanceFromGate);
+            }
+            return index;
+        }
+    }
+
+    private static class GateIndex implements SpotStateListener {
+        private final List<ParkingFloor> floors;
+        private final Map<ParkingFloor, Integer> floorNumbers = new IdentityHashMap<>();
+        // Per spot type, rank -> (floor number, position on floor), nearest first
+        private final Map<SpotType, int[]> floorByRank = new EnumMap<>(SpotType.class);
+        private final Map<SpotType, int[]> positionByRank = new EnumMap<>(SpotType.class);
+        // Per floor, position -> rank within the spot's type
+        private final int[][] rankByPosition;
+        private final Map<SpotType, RankedFreeSet> free = new EnumMap<>(SpotType.class);
+
+        GateIndex(List<ParkingFloor> floors, ToIntFunction<ParkingSpot> distanceFromGate) {
+            this.floors = floors;
+            this.rankByPosition = new int[floors.size()][];
+            Map<SpotType, List<long[]>> byType = new EnumMap<>(SpotType.class);
+            for (SpotType spotType : SPOT_TYPES) {
+                byType.put(spotType, new ArrayList<>());
+            }
+            for (int f = 0; f < floors.size(); f++) {
+                ParkingFloor floor = floors.get(f);
+                floorNumbers.put(floor, f);
+                List<ParkingSpot> spots = floor.getSpots();
+                rankByPosition[f] = new int[spots.size()];
+                for (int p = 0; p < spots.size(); p++) {
+                    ParkingSpot spot = spots.get(p);
+                    byType.get(spot.getSpotType()).add(new long[]{distanceFromGate.applyAsInt(spot), f, p});
+                }
+            }
+            for (SpotType spotType : SPOT_TYPES) {
+                List<long[]> ranked = byType.get(spotType);
+                ranked.sort(Comparator.comparingLong(entry -> entry[0]));
+                int[] floorsOf = new int[ranked.size()];
+                int[] positionsOf = new int[ranked.size()];
+                for (int rank = 0; rank < ranked.size(); rank++) {
+                    floorsOf[rank] = (int) ranked.get(rank)[1];
+                    positionsOf[rank] = (int) ranked.get(rank)[2];
+                    rankByPosition[floorsOf[rank]][positionsOf[rank]] = rank;
+                }
+                floorByRank.put(spotType, floorsOf);
+                positionByRank.put(spotType, positionsOf);
+                free.put(spotType, new RankedFreeSet(ranked.size()));
+            }
+            // Register before the initial scan so no transition is lost while it runs
+            for (ParkingFloor floor : floors) {
+                floor.addSpotStateListener(this);
+                for (ParkingSpot spot : floor.getSpots()) {
+                    sync(spot);
+                }
+            }
+        }
+
+        ParkingSpot spotAt(SpotType spotType, int rank) {
+            return floors.get(floorByRank.get(spotType)[rank]).getSpots().get(positionByRank.get(spotType)[rank]);
+        }
+
+        void detach() {
+            for (ParkingFloor floor : floors) {
+                floor.removeSpotStateListener(this);
+            }
+        }
+
+        @Override
+        public void onSpotParked(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        @Override
+        public void onSpotFreed(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        @Override
+        public void onSpotReserved(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        @Override
+        public void onReservationReleased(ParkingSpot spot) {
+            sync(spot);
+        }
+
+        // Reconciles against the spot's current state so out-of-order notifications cannot leave stale entries
+        private void sync(ParkingSpot spot) {
+            int rank = rankByPosition[floorNumbers.get(spot.getFloor())][spot.getFloorIndex()];
+            RankedFreeSet set = free.get(spot.getSpotType());
+            synchronized (set) {
+                if (spot.isFree()) {
+                    set.add(rank);
+                } else {
+                    set.remove(rank);
+                }
+            }
+        }
+    }
+}
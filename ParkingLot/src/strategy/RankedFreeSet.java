@@ -0,0 +1,49 @@
+package strategy;
+
+/**
+ * Set of free ranks (0 = most preferred) as a two-level bitset. The summary level marks which
+ * words have any free rank, so finding the lowest free rank skips 4096 full ranks per summary word.
+ */
+class RankedFreeSet {
+    private final long[] words;
+    private final long[] summary;
+
+    RankedFreeSet(int size) {
+        this.words = new long[(size + 63) >>> 6];
+        this.summary = new long[(words.length + 63) >>> 6];
+    }
+
+    synchronized void add(int rank) {
+        int word = rank >>> 6;
+        words[word] |= 1L << rank;
+        summary[word >>> 6] |= 1L << word;
+    }
+
+    synchronized void remove(int rank) {
+        int word = rank >>> 6;
+        words[word] &= ~(1L << rank);
+        if (words[word] == 0) {
+            summary[word >>> 6] &= ~(1L << word);
+        }
+    }
+
+    // Lowest free rank at or after from, or -1 if there is none
+    synchronized int next(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) return -1;
+        long bits = words[word] & (-1L << from);
+        if (bits != 0) {
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        int nextWord = word + 1;
+        int summaryWord = nextWord >>> 6;
+        if (summaryWord >= summary.length) return -1;
+        long nonEmpty = summary[summaryWord] & (-1L << nextWord);
+        while (nonEmpty == 0) {
+            if (++summaryWord == summary.length) return -1;
+            nonEmpty = summary[summaryWord];
+        }
+        word = (summaryWord << 6) + Long.numberOfTrailingZeros(nonEmpty);
+        return (word << 6) + Long.numberOfTrailingZeros(words[word]);
+    }
+}
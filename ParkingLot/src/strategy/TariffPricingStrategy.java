@@ -0,0 +1,203 @@
+package strategy;
+
+import entity.Ticket;
+import enums.DayType;
+import enums.VehicleType;
+import interfaces.PricingStrategy;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tariff-table pricing with hourly rates that vary by vehicle type, weekday/weekend and time of
+ * day. Daily caps and minimum charges are also supported. Stays are billed per started minute,
+ * and a cap applies to each calendar day of the stay.
+ *
+ * The builder compiles the rules into one cumulative price array per vehicle type that covers a
+ * week minute by minute. Any stay, however many days and bands it crosses, is then priced with a
+ * few array lookups and no allocation. The zone is a fixed offset so that local minutes can be
+ * found by arithmetic.
+ */
+public class TariffPricingStrategy implements PricingStrategy {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int MINUTES_PER_WEEK = DAYS_PER_WEEK * MINUTES_PER_DAY;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    // 1970-01-01 was a Thursday; days are counted from Monday = 0
+    private static final int EPOCH_DAY_OF_WEEK = 3;
+
+    private final long offsetMillis;
+    private final Map<VehicleType, CompiledTariff> tariffs;
+
+    private TariffPricingStrategy(long offsetMillis, Map<VehicleType, CompiledTariff> tariffs) {
+        this.offsetMillis = offsetMillis;
+        this.tariffs = tariffs;
+    }
+
+    public static Builder builder(ZoneOffset zoneOffset) {
+        return new Builder(zoneOffset);
+    }
+
+    @Override
+    public double calculatePrice(Ticket ticket, long exitTime) {
+        CompiledTariff tariff = tariffs.get(ticket.getVehicle().getType());
+        long entryMinute = Math.floorDiv(ticket.getEntryTime() + offsetMillis, MILLIS_PER_MINUTE);
+        long exitMinute = -Math.floorDiv(-(exitTime + offsetMillis), MILLIS_PER_MINUTE);
+        return tariff.price(entryMinute, Math.max(entryMinute, exitMinute)) / 100.0;
+    }
+
+    /**
+     * Rates for one vehicle type. Amounts are in "rate units": paise per hour summed per minute,
+     * so a minute at Rs 40/hour adds 4000 units and 60 units make one paisa.
+     */
+    private static class CompiledTariff {
+        // cumulative[m] = units charged from Monday 00:00 up to minute m of the week
+        private final long[] cumulative;
+        // capped cost of whole days, as prefix sums over two weeks so any 7-day window is one subtraction
+        private final long[] fullDayPrefix;
+        private final long dailyCap;
+        private final long minimumChargePaise;
+
+        CompiledTariff(int[] paisePerHour, long dailyCapPaise, long minimumChargePaise) {
+            this.cumulative = new long[MINUTES_PER_WEEK + 1];
+            for (int m = 0; m < MINUTES_PER_WEEK; m++) {
+                cumulative[m + 1] = cumulative[m] + paisePerHour[m];
+            }
+            this.dailyCap = dailyCapPaise < 0 ? Long.MAX_VALUE : dailyCapPaise * 60;
+            this.minimumChargePaise = minimumChargePaise;
+            this.fullDayPrefix = new long[2 * DAYS_PER_WEEK + 1];
+            for (int d = 0; d < 2 * DAYS_PER_WEEK; d++) {
+                fullDayPrefix[d + 1] = fullDayPrefix[d] + dayCost(d % DAYS_PER_WEEK, 0, MINUTES_PER_DAY);
+            }
+        }
+
+        private long dayCost(int dayOfWeek, int fromMinute, int toMinute) {
+            int base = dayOfWeek * MINUTES_PER_DAY;
+            return Math.min(dailyCap, cumulative[base + toMinute] - cumulative[base + fromMinute]);
+        }
+
+        // Price in paise for local minutes [entryMinute, exitMinute)
+        long price(long entryMinute, long exitMinute) {
+            long entryDay = Math.floorDiv(entryMinute, MINUTES_PER_DAY);
+            long exitDay = Math.floorDiv(exitMinute, MINUTES_PER_DAY);
+            int entryDayOfWeek = dayOfWeek(entryDay);
+            int entryMinuteOfDay = (int) (entryMinute - entryDay * MINUTES_PER_DAY);
+            int exitMinuteOfDay = (int) (exitMinute - exitDay * MINUTES_PER_DAY);
+
+            long units;
+            if (entryDay == exitDay) {
+                units = dayCost(entryDayOfWeek, entryMinuteOfDay, exitMinuteOfDay);
+            } else {
+                units = dayCost(entryDayOfWeek, entryMinuteOfDay, MINUTES_PER_DAY)
+                        + dayCost(dayOfWeek(exitDay), 0, exitMinuteOfDay);
+                long fullDays = exitDay - entryDay - 1;
+                int firstFullDay = (entryDayOfWeek + 1) % DAYS_PER_WEEK;
+                int remainingDays = (int) (fullDays % DAYS_PER_WEEK);
+                units += (fullDays / DAYS_PER_WEEK) * fullDayPrefix[DAYS_PER_WEEK]
+                        + fullDayPrefix[firstFullDay + remainingDays] - fullDayPrefix[firstFullDay];
+            }
+            long paise = (units + 59) / 60;
+            return Math.max(paise, minimumChargePaise);
+        }
+
+        private static int dayOfWeek(long epochDay) {
+            return Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK, DAYS_PER_WEEK);
+        }
+    }
+
+    public static class Builder {
+        private final ZoneOffset zoneOffset;
+        private final Map<VehicleType, Integer> defaultRates = new EnumMap<>(VehicleType.class);
+        private final List<Band> bands = new ArrayList<>();
+        private final Map<VehicleType, Long> dailyCaps = new EnumMap<>(VehicleType.class);
+        private final Map<VehicleType, Long> minimumCharges = new EnumMap<>(VehicleType.class);
+
+        private Builder(ZoneOffset zoneOffset) {
+            this.zoneOffset = zoneOffset;
+        }
+
+        // Hourly rate for any time not covered by a band
+        public Builder defaultRate(VehicleType vehicleType, double hourlyRate) {
+            defaultRates.put(vehicleType, toPaise(hourlyRate));
+            return this;
+        }
+
+        /**
+         * Hourly rate for a time-of-day band on weekdays or weekends. A band whose end is not after
+         * its start wraps past midnight within the same day type (e.g. 22:00-06:00 for night rates).
+         * Later bands override earlier ones where they overlap.
+         */
+        public Builder rate(VehicleType vehicleType, DayType dayType, LocalTime from, LocalTime to, double hourlyRate) {
+            bands.add(new Band(vehicleType, dayType, from.toSecondOfDay() / 60, to.toSecondOfDay() / 60,
+                    toPaise(hourlyRate)));
+            return this;
+        }
+
+        public Builder dailyCap(VehicleType vehicleType, double cap) {
+            dailyCaps.put(vehicleType, (long) toPaise(cap));
+            return this;
+        }
+
+        public Builder minimumCharge(VehicleType vehicleType, double charge) {
+            minimumCharges.put(vehicleType, (long) toPaise(charge));
+            return this;
+        }
+
+        public TariffPricingStrategy build() {
+            Map<VehicleType, CompiledTariff> tariffs = new EnumMap<>(VehicleType.class);
+            for (VehicleType vehicleType : VehicleType.values()) {
+                int[] paisePerHour = new int[MINUTES_PER_WEEK];
+                Arrays.fill(paisePerHour, defaultRates.getOrDefault(vehicleType, 0));
+                for (Band band : bands) {
+                    if (band.vehicleType == vehicleType) {
+                        band.applyTo(paisePerHour);
+                    }
+                }
+                tariffs.put(vehicleType, new CompiledTariff(paisePerHour,
+                        dailyCaps.getOrDefault(vehicleType, -1L),
+                        minimumCharges.getOrDefault(vehicleType, 0L)));
+            }
+            return new TariffPricingStrategy(zoneOffset.getTotalSeconds() * 1000L, tariffs);
+        }
+
+        private static int toPaise(double amount) {
+            return (int) Math.round(amount * 100);
+        }
+    }
+
+    private static class Band {
+        private final VehicleType vehicleType;
+        private final DayType dayType;
+        private final int fromMinute;
+        private final int toMinute;
+        private final int paisePerHour;
+
+        Band(VehicleType vehicleType, DayType dayType, int fromMinute, int toMinute, int paisePerHour) {
+            this.vehicleType = vehicleType;
+            this.dayType = dayType;
+            this.fromMinute = fromMinute;
+            this.toMinute = toMinute;
+            this.paisePerHour = paisePerHour;
+        }
+
+        void applyTo(int[] paisePerHourByMinute) {
+            for (int day = 0; day < DAYS_PER_WEEK; day++) {
+                boolean weekend = day >= 5;
+                if ((dayType == DayType.WEEKEND) != weekend) continue;
+                int base = day * MINUTES_PER_DAY;
+                if (fromMinute < toMinute) {
+                    Arrays.fill(paisePerHourByMinute, base + fromMinute, base + toMinute, paisePerHour);
+                } else {
+                    Arrays.fill(paisePerHourByMinute, base + fromMinute, base + MINUTES_PER_DAY, paisePerHour);
+                    Arrays.fill(paisePerHourByMinute, base, base + toMinute, paisePerHour);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package entity;
+
+import enums.SpotType;
+import enums.VehicleType;
+import interfaces.TicketLifecycleListener;
+import org.junit.jupiter.api.Test;
+import panels.EntryPanel;
+import panels.ExitPanel;
+import strategy.FirstFreeSlotStrategy;
+import strategy.HourlyPricingStrategy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParkingLotCheckInTest {
+    private static final long NOW = 1_000_000;
+
+    private static ParkingLot lot(int spots) {
+        List<ParkingSpot> list = new ArrayList<>();
+        for (int i = 0; i < spots; i++) {
+            list.add(new ParkingSpot(i, SpotType.MEDIUM));
+        }
+        ParkingLot lot = new ParkingLot("L1", List.of(new ParkingFloor(list, "F1")),
+                List.of(new EntryPanel("E1", new FirstFreeSlotStrategy())),
+                List.of(new ExitPanel("X1", new HourlyPricingStrategy())));
+        lot.setClock(Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+        return lot;
+    }
+
+    @Test
+    void failedRegistrationFreesTheReservedSpot() {
+        ParkingSpot spot = new ParkingSpot(1, SpotType.MEDIUM);
+        EntryPanel gate = new EntryPanel("E1", new FirstFreeSlotStrategy());
+        try (ParkingLot lot = new ParkingLot("L1", List.of(new ParkingFloor(List.of(spot), "F1")),
+                List.of(gate), List.of(new ExitPanel("X1", new HourlyPricingStrategy())))) {
+            Vehicle car = new Vehicle("KA-01", VehicleType.CAR);
+            lot.reserveSpot(car, 60_000);
+            assertTrue(spot.isReserved());
+
+            lot.getTicketRegistry().addListener(new TicketLifecycleListener() {
+                @Override
+                public void onTicketIssued(Ticket ticket) {
+                    throw new IllegalArgumentException("listener failed");
+                }
+
+                @Override
+                public void onTicketClosed(Ticket ticket, double fare, long exitTime) {
+                }
+            });
+            assertThrows(IllegalArgumentException.class, () -> lot.checkIn(gate, car));
+
+            assertTrue(spot.isFree());
+            assertNull(lot.findReservation("KA-01"));
+            assertNull(lot.findTicketByLicensePlate("KA-01"));
+            assertEquals(0, lot.getMetrics().getOccupied(SpotType.MEDIUM));
+        }
+    }
+
+    @Test
+    void reservationInALotWithoutEntryPanelsFailsClearly() {
+        try (ParkingLot lot = new ParkingLot("L1", List.of(new ParkingFloor(List.of(new ParkingSpot(1, SpotType.MEDIUM)), "F1")),
+                List.of(), List.of())) {
+            assertThrows(IllegalStateException.class, () -> lot.reserveSpot(new Vehicle("KA-01", VehicleType.CAR), 60_000));
+        }
+    }
+
+    @Test
+    void holdsUseTheLotClockAndExpireOnTheirOwn() {
+        try (ParkingLot lot = lot(1)) {
+            Reservation reservation = lot.reserveSpot(new Vehicle("KA-01", VehicleType.CAR), 5_000);
+            assertEquals(NOW + 5_000, reservation.getExpiresAt());
+
+            assertEquals(0, lot.expireReservations(NOW + 4_000));
+            assertEquals(1, lot.expireReservations(NOW + 5_000));
+            assertTrue(reservation.getParkingSpot().isFree());
+            assertNull(lot.findReservation("KA-01"));
+        }
+    }
+
+    @Test
+    void checkInAndCancellationDropTheExpiryTimer() {
+        try (ParkingLot lot = lot(2)) {
+            Vehicle cancelled = new Vehicle("KA-01", VehicleType.CAR);
+            Vehicle arriving = new Vehicle("KA-02", VehicleType.CAR);
+            Reservation reservation = lot.reserveSpot(cancelled, 5_000);
+            lot.reserveSpot(arriving, 5_000);
+
+            assertTrue(lot.cancelReservation(reservation));
+            Ticket ticket = lot.checkIn(lot.getEntryPanels().get(0), arriving);
+            assertEquals(NOW, ticket.getEntryTime());
+
+            // Neither hold is left in the wheel to come due
+            assertEquals(0, lot.expireReservations(NOW + 60_000));
+            assertEquals(0, lot.getReservationCount());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package entity;
+
+import enums.SpotType;
+import enums.VehicleType;
+import exceptions.LotFullException;
+import interfaces.TicketLifecycleListener;
+import org.junit.jupiter.api.Test;
+import panels.EntryPanel;
+import panels.ExitPanel;
+import strategy.FirstFreeSlotStrategy;
+import strategy.HourlyPricingStrategy;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParkingLotRegistryTest {
+
+    private static ParkingLot lot(String lotId, int spots) {
+        ParkingSpot[] list = new ParkingSpot[spots];
+        for (int i = 0; i < spots; i++) {
+            list[i] = new ParkingSpot(i, SpotType.MEDIUM);
+        }
+        return new ParkingLot(lotId, List.of(new ParkingFloor(List.of(list), lotId + "-F1")),
+                List.of(new EntryPanel(lotId + "-E1", new FirstFreeSlotStrategy())),
+                List.of(new ExitPanel(lotId + "-X1", new HourlyPricingStrategy())));
+    }
+
+    private static ParkingLotRegistry registry(ParkingLot... lots) {
+        ParkingLotRegistry registry = new ParkingLotRegistry();
+        for (ParkingLot lot : lots) {
+            registry.register(lot);
+        }
+        registry.setNeighbours("A", List.of("B"));
+        return registry;
+    }
+
+    @Test
+    void fullLotOverflowsToNeighbour() {
+        ParkingLot a = lot("A", 1);
+        ParkingLot b = lot("B", 1);
+        ParkingLotRegistry registry = registry(a, b);
+        EntryPanel gate = a.getEntryPanels().get(0);
+
+        registry.admit("A", gate, new Vehicle("1", VehicleType.CAR));
+        registry.admit("A", gate, new Vehicle("2", VehicleType.CAR));
+        assertSame(b, registry.findLotByLicensePlate("2"));
+        assertThrows(LotFullException.class, () -> registry.admit("A", gate, new Vehicle("3", VehicleType.CAR)));
+    }
+
+    @Test
+    void plateParkedInOneLotIsRefusedByAnother() {
+        ParkingLot a = lot("A", 1);
+        ParkingLot b = lot("B", 2);
+        ParkingLotRegistry registry = registry(a, b);
+        registry.admit("B", b.getEntryPanels().get(0), new Vehicle("1", VehicleType.CAR));
+
+        assertThrows(IllegalStateException.class,
+                () -> registry.admit("A", a.getEntryPanels().get(0), new Vehicle("1", VehicleType.CAR)));
+        assertEquals(0, a.getActiveTickets().size());
+        assertEquals(1, b.getActiveTickets().size());
+    }
+
+    @Test
+    void otherFailuresAreNotRoutedToNeighbours() {
+        ParkingLot a = lot("A", 1);
+        ParkingLot b = lot("B", 1);
+        ParkingLotRegistry registry = registry(a, b);
+        a.getTicketRegistry().addListener(new TicketLifecycleListener() {
+            @Override
+            public void onTicketIssued(Ticket ticket) {
+                throw new IllegalStateException("journal unavailable");
+            }
+
+            @Override
+            public void onTicketClosed(Ticket ticket, double fare, long exitTime) {
+            }
+        });
+
+        assertThrows(IllegalStateException.class,
+                () -> registry.admit("A", a.getEntryPanels().get(0), new Vehicle("1", VehicleType.CAR)));
+        assertEquals(0, b.getActiveTickets().size());
+    }
+}
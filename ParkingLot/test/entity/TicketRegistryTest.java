@@ -0,0 +1,55 @@
+package entity;
+
+import enums.SpotType;
+import enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketRegistryTest {
+
+    private static Ticket ticket(long ticketId, String plate) {
+        return new Ticket(ticketId, new Vehicle(plate, VehicleType.CAR), new ParkingSpot((int) ticketId, SpotType.MEDIUM));
+    }
+
+    @Test
+    void registeredTicketIsFoundByIdAndPlate() {
+        TicketRegistry registry = new TicketRegistry();
+        Ticket ticket = ticket(1, "KA-01");
+        registry.register(ticket);
+
+        assertSame(ticket, registry.findByTicketId(1));
+        assertSame(ticket, registry.findByLicensePlate("KA-01"));
+        assertTrue(registry.isActive("KA-01"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void secondTicketForPlateIsRolledBack() {
+        TicketRegistry registry = new TicketRegistry();
+        Ticket first = ticket(1, "KA-01");
+        registry.register(first);
+
+        assertThrows(IllegalStateException.class, () -> registry.register(ticket(2, "KA-01")));
+        assertNull(registry.findByTicketId(2));
+        assertSame(first, registry.findByLicensePlate("KA-01"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void onlyOneCallerClosesATicket() {
+        TicketRegistry registry = new TicketRegistry();
+        Ticket ticket = ticket(1, "KA-01");
+        registry.register(ticket);
+
+        assertTrue(registry.close(ticket, 10.0, 0));
+        assertFalse(registry.close(ticket, 10.0, 0));
+        assertNull(registry.findByLicensePlate("KA-01"));
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,62 @@
+package metrics;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import entity.Reservation;
+import entity.Vehicle;
+import enums.SpotType;
+import enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParkingLotMetricsTest {
+
+    private static ParkingFloor floor(int spots) {
+        List<ParkingSpot> list = new ArrayList<>();
+        for (int i = 0; i < spots; i++) {
+            list.add(new ParkingSpot(i, SpotType.MEDIUM));
+        }
+        return new ParkingFloor(list, "F1");
+    }
+
+    @Test
+    void countsSpotsTakenBeforeAttachOnce() {
+        ParkingFloor floor = floor(4);
+        Vehicle parked = new Vehicle("A", VehicleType.CAR);
+        floor.getSpots().get(0).parkVehicle(parked);
+        floor.getSpots().get(1).parkVehicle(new Vehicle("B", VehicleType.CAR));
+
+        ParkingLotMetrics metrics = ParkingLotMetrics.attach(List.of(floor));
+        assertEquals(2, metrics.getOccupied(SpotType.MEDIUM));
+        assertEquals(2L, metrics.snapshot().getOccupancyByFloor().get("F1"));
+
+        floor.getSpots().get(0).unparkVehicle(parked);
+        assertEquals(1, metrics.getOccupied(SpotType.MEDIUM));
+    }
+
+    @Test
+    void reservedSpotsCountAsOccupiedThroughClaimAndRelease() {
+        ParkingFloor floor = floor(2);
+        ParkingLotMetrics metrics = ParkingLotMetrics.attach(List.of(floor));
+        ParkingSpot spot = floor.getSpots().get(0);
+        Vehicle car = new Vehicle("A", VehicleType.CAR);
+
+        Reservation first = new Reservation(1, car, spot, Long.MAX_VALUE);
+        assertTrue(spot.tryReserve(first));
+        assertEquals(1, metrics.getOccupied(SpotType.MEDIUM));
+        assertTrue(spot.releaseReservation(first));
+        assertEquals(0, metrics.getOccupied(SpotType.MEDIUM));
+
+        Reservation second = new Reservation(2, car, spot, Long.MAX_VALUE);
+        assertTrue(spot.tryReserve(second));
+        assertTrue(spot.claimReservation(second, car));
+        assertEquals(1, metrics.getOccupied(SpotType.MEDIUM));
+        spot.unparkVehicle(car);
+        assertEquals(0, metrics.getOccupied(SpotType.MEDIUM));
+    }
+}
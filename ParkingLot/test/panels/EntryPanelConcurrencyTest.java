@@ -0,0 +1,121 @@
+package panels;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.TicketRegistry;
+import entity.Vehicle;
+import enums.SpotType;
+import enums.VehicleType;
+import interfaces.SlotAllocationStrategy;
+import org.junit.jupiter.api.RepeatedTest;
+import strategy.FirstFreeSlotStrategy;
+import strategy.IndexedFreeSlotStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races many gates for a lot far smaller than the queue of cars. Every spot a car fits must be
+ * sold exactly once, and the spots it does not fit must stay empty.
+ */
+class EntryPanelConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int CARS_PER_THREAD = 50;
+
+    @RepeatedTest(5)
+    void firstFreeNeverDoubleBooks() throws InterruptedException {
+        race(new FirstFreeSlotStrategy(), List.of(floor("F1"), floor("F2")));
+    }
+
+    @RepeatedTest(5)
+    void indexedNeverDoubleBooks() throws InterruptedException {
+        race(new IndexedFreeSlotStrategy(), List.of(floor("F1"), floor("F2")));
+    }
+
+    @RepeatedTest(5)
+    void compactFloorNeverDoubleBooks() throws InterruptedException {
+        int[] ids = new int[12];
+        SpotType[] types = new SpotType[12];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+            types[i] = SpotType.values()[i % 3];
+        }
+        race(new FirstFreeSlotStrategy(), List.of(ParkingFloor.compact(ids, types, "C1")));
+    }
+
+    // Four spots of each type; cars fit the medium and large ones
+    private static ParkingFloor floor(String floorId) {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            spots.add(new ParkingSpot(i, SpotType.values()[i % 3]));
+        }
+        return new ParkingFloor(spots, floorId);
+    }
+
+    private static void race(SlotAllocationStrategy strategy, List<ParkingFloor> floors) throws InterruptedException {
+        TicketRegistry registry = new TicketRegistry();
+        List<Ticket> tickets = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] gates = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            EntryPanel panel = new EntryPanel("E" + t, strategy);
+            panel.setTicketRegistry(registry);
+            int gate = t;
+            gates[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < CARS_PER_THREAD; i++) {
+                    Vehicle car = new Vehicle("KA-" + gate + "-" + i, VehicleType.CAR);
+                    try {
+                        tickets.add(panel.issueTicket(car, floors));
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+            gates[t].start();
+        }
+        start.countDown();
+        for (Thread gate : gates) {
+            gate.join();
+        }
+
+        int capacity = 0;
+        for (ParkingFloor floor : floors) {
+            for (ParkingSpot spot : floor.getSpots()) {
+                if (VehicleType.CAR.canFitIn(spot.getSpotType())) {
+                    capacity++;
+                } else {
+                    assertNull(spot.getVehicle(), "car parked in a small spot");
+                }
+            }
+        }
+        assertEquals(capacity, tickets.size());
+        assertEquals(THREADS * CARS_PER_THREAD - capacity, rejected.get());
+
+        // Compact floors hand out a fresh view per lookup, so spots are compared by floor and ID
+        Map<String, Ticket> bySpot = new HashMap<>();
+        for (Ticket ticket : tickets) {
+            ParkingSpot spot = ticket.getParkingSpot();
+            String spotKey = spot.getFloor().getFloorId() + "/" + spot.getSpotId();
+            assertNull(bySpot.put(spotKey, ticket), "spot " + spotKey + " sold twice");
+            assertSame(ticket.getVehicle(), spot.getVehicle());
+            assertTrue(registry.isActive(ticket.getVehicle().getLicensePlate()));
+        }
+    }
+}
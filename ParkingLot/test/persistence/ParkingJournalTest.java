@@ -0,0 +1,159 @@
+package persistence;
+
+import entity.ParkingFloor;
+import entity.ParkingLot;
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.Vehicle;
+import enums.SpotType;
+import enums.VehicleType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import panels.EntryPanel;
+import panels.ExitPanel;
+import strategy.FirstFreeSlotStrategy;
+import strategy.HourlyPricingStrategy;
+import strategy.IndexedFreeSlotStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ParkingJournalTest {
+    // Header, then the first record's size word; its commit word follows
+    private static final int FIRST_COMMIT_WORD = 16 + 8;
+
+    @TempDir
+    Path directory;
+
+    private static ParkingLot lot() {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            spots.add(new ParkingSpot(i, SpotType.MEDIUM));
+        }
+        return new ParkingLot("L1", List.of(new ParkingFloor(spots, "F1")),
+                List.of(new EntryPanel("E1", new FirstFreeSlotStrategy())),
+                List.of(new ExitPanel("X1", new HourlyPricingStrategy())));
+    }
+
+    private static ParkingLot largeLot(int spotCount) {
+        List<ParkingFloor> floors = new ArrayList<>();
+        for (int first = 0; first < spotCount; first += 10_000) {
+            List<ParkingSpot> spots = new ArrayList<>();
+            for (int id = first; id < first + 10_000; id++) {
+                spots.add(new ParkingSpot(id, SpotType.MEDIUM));
+            }
+            floors.add(new ParkingFloor(spots, "F" + floors.size()));
+        }
+        return new ParkingLot("L1", floors,
+                List.of(new EntryPanel("E1", new IndexedFreeSlotStrategy())),
+                List.of(new ExitPanel("X1", new HourlyPricingStrategy())));
+    }
+
+    private ParkingJournal open(ParkingLot lot, int capacity, long checkpointMillis) throws IOException {
+        ParkingJournal journal = ParkingJournal.open(directory, capacity, 5, checkpointMillis);
+        journal.recover(lot);
+        return journal;
+    }
+
+    @Test
+    void replaySkipsAnUncommittedSlot() throws IOException {
+        ParkingLot lot = lot();
+        ParkingJournal journal = open(lot, 4096, 60_000);
+        for (String plate : List.of("A", "B", "C")) {
+            lot.checkIn(lot.getEntryPanels().get(0), new Vehicle(plate, VehicleType.CAR));
+        }
+        journal.close();
+
+        // As if the first appender died after claiming its slot but before committing it
+        try (FileChannel channel = FileChannel.open(directory.resolve("parking.journal"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), FIRST_COMMIT_WORD);
+        }
+
+        ParkingLot recovered = lot();
+        try (ParkingJournal reopened = ParkingJournal.open(directory, 4096, 5, 60_000)) {
+            assertEquals(2, reopened.recover(recovered));
+        }
+        assertNull(recovered.findTicketByLicensePlate("A"));
+        assertNotNull(recovered.findTicketByLicensePlate("B"));
+        assertNotNull(recovered.findTicketByLicensePlate("C"));
+    }
+
+    @Test
+    void fullJournalCheckpointsAndRecovers() throws IOException {
+        ParkingLot lot = lot();
+        ParkingJournal journal = open(lot, 1024, 60_000);
+        for (int i = 0; i < 200; i++) {
+            Ticket ticket = lot.checkIn(lot.getEntryPanels().get(0), new Vehicle("P" + i, VehicleType.CAR));
+            if (i % 4 != 0) {
+                lot.getExitPanels().get(0).processExit(ticket);
+            }
+            if (lot.getActiveTickets().size() == 8) {
+                break;
+            }
+        }
+        List<String> parked = lot.getActiveTickets().stream().map(t -> t.getVehicle().getLicensePlate()).toList();
+        journal.close();
+
+        ParkingLot recovered = lot();
+        try (ParkingJournal reopened = ParkingJournal.open(directory, 1024, 5, 60_000)) {
+            assertEquals(parked.size(), reopened.recover(recovered));
+        }
+        for (String plate : parked) {
+            assertNotNull(recovered.findTicketByLicensePlate(plate));
+        }
+    }
+
+    @Test
+    void backgroundCheckpointFailureIsRecorded() throws Exception {
+        ParkingJournal journal = open(lot(), 4096, 10);
+        // A directory where the snapshot is staged makes every later checkpoint fail
+        Files.createDirectories(directory.resolve("parking.snapshot.tmp"));
+        try {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (journal.getCheckpointFailure() == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNotNull(journal.getCheckpointFailure());
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void largeLotRecoversFromSnapshotAndJournalTail() throws IOException {
+        ParkingLot lot = largeLot(100_000);
+        ParkingJournal journal = open(lot, 8 << 20, 60_000);
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            tickets.add(lot.checkIn(lot.getEntryPanels().get(0), new Vehicle("S" + i, VehicleType.CAR)));
+        }
+        journal.checkpoint();
+        // The tail: exits of snapshotted sessions and new entries after the checkpoint
+        for (int i = 0; i < 20_000; i++) {
+            lot.getExitPanels().get(0).processExit(tickets.get(i));
+        }
+        for (int i = 0; i < 30_000; i++) {
+            lot.checkIn(lot.getEntryPanels().get(0), new Vehicle("T" + i, VehicleType.CAR));
+        }
+        journal.close();
+
+        ParkingLot recovered = largeLot(100_000);
+        try (ParkingJournal reopened = ParkingJournal.open(directory, 8 << 20, 5, 60_000)) {
+            assertEquals(70_000, reopened.recover(recovered));
+        }
+        assertNull(recovered.findTicketByLicensePlate("S0"));
+        assertNotNull(recovered.findTicketByLicensePlate("S59999"));
+        assertNotNull(recovered.findTicketByLicensePlate("T29999"));
+        assertEquals(70_000, recovered.getActiveTickets().size());
+    }
+}
@@ -0,0 +1,35 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ArrivalDistributionTest {
+
+    private static long[] draw(ArrivalDistribution distribution, int count) {
+        SplittableRandom random = new SplittableRandom(1);
+        long[] gaps = new long[count];
+        for (int i = 0; i < count; i++) {
+            gaps[i] = distribution.nextMillis(i, random);
+        }
+        return gaps;
+    }
+
+    @Test
+    void burstPhaseFollowsTheVehicleIndex() {
+        ArrivalDistribution bursts = ArrivalDistribution.bursts(3, 10, 100);
+        assertArrayEquals(new long[]{100, 10, 10, 100, 10, 10, 100}, draw(bursts, 7));
+    }
+
+    @Test
+    void reusedDistributionRepeatsFromTheSeed() {
+        ArrivalDistribution bursts = ArrivalDistribution.bursts(4, 10, 100);
+        long[] first = draw(bursts, 5);
+        assertArrayEquals(first, draw(bursts, 5));
+
+        ArrivalDistribution poisson = ArrivalDistribution.poisson(30);
+        assertArrayEquals(draw(poisson, 50), draw(poisson, 50));
+    }
+}
@@ -0,0 +1,58 @@
+package simulation;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import entity.TicketRegistry;
+import enums.SpotType;
+import org.junit.jupiter.api.Test;
+import panels.EntryPanel;
+import panels.ExitPanel;
+import strategy.HourlyPricingStrategy;
+import strategy.IndexedFreeSlotStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadGeneratorTest {
+
+    @Test
+    void simulatedRunAccountsForEveryVehicle() throws InterruptedException {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int id = 0; id < 60; id++) {
+            spots.add(new ParkingSpot(id, SpotType.values()[id % 3]));
+        }
+        List<ParkingFloor> floors = List.of(new ParkingFloor(spots, "F1"));
+        IndexedFreeSlotStrategy strategy = new IndexedFreeSlotStrategy();
+        TicketRegistry registry = new TicketRegistry();
+        List<EntryPanel> entryPanels = new ArrayList<>();
+        List<ExitPanel> exitPanels = new ArrayList<>();
+        for (int g = 1; g <= 3; g++) {
+            EntryPanel entryPanel = new EntryPanel("E" + g, strategy);
+            ExitPanel exitPanel = new ExitPanel("X" + g, new HourlyPricingStrategy());
+            entryPanel.setTicketRegistry(registry);
+            exitPanel.setTicketRegistry(registry);
+            entryPanels.add(entryPanel);
+            exitPanels.add(exitPanel);
+        }
+
+        // Bursts of arrivals against stays long enough to fill the lot, so some vehicles are turned away
+        LoadReport report = LoadGenerator.builder(floors, entryPanels, exitPanels)
+                .vehicles(500)
+                .arrivals(ArrivalDistribution.bursts(20, 1_000, 10 * 60_000))
+                .stays(ArrivalDistribution.uniform(30 * 60_000L, 2 * 3_600_000L))
+                .clock(new SimulatedClock(0))
+                .build()
+                .run();
+
+        assertEquals(500, report.getEntered() + report.getRejected());
+        assertTrue(report.getRejected() > 0);
+        assertEquals(report.getEntered(), report.getExited());
+        assertEquals(0, report.getDoubleAllocations());
+        assertEquals(0, report.getErrors());
+        assertEquals(0, report.getLeakedSpots());
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,68 @@
+package strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RankedFreeSetTest {
+
+    @Test
+    void emptySetHasNoFreeRank() {
+        RankedFreeSet set = new RankedFreeSet(10_000);
+        assertEquals(-1, set.next(0));
+        assertEquals(-1, set.next(9_999));
+        assertEquals(-1, set.next(10_000));
+    }
+
+    @Test
+    void nextFindsTheLowestRankAtOrAfterFrom() {
+        RankedFreeSet set = new RankedFreeSet(10_000);
+        set.add(5);
+        set.add(63);
+        set.add(64);
+        set.add(9_000);
+
+        assertEquals(5, set.next(0));
+        assertEquals(5, set.next(5));
+        assertEquals(63, set.next(6));
+        assertEquals(64, set.next(64));
+        // Past the first summary word: 4096 ranks per summary word
+        assertEquals(9_000, set.next(65));
+        assertEquals(-1, set.next(9_001));
+    }
+
+    @Test
+    void removingTheLastRankOfAWordClearsItFromTheSummary() {
+        RankedFreeSet set = new RankedFreeSet(10_000);
+        set.add(100);
+        set.add(5_000);
+        set.remove(100);
+
+        assertEquals(5_000, set.next(0));
+        set.remove(5_000);
+        assertEquals(-1, set.next(0));
+    }
+
+    @Test
+    void matchesABitSetUnderRandomUpdates() {
+        int size = 20_000;
+        RankedFreeSet set = new RankedFreeSet(size);
+        BitSet expected = new BitSet(size);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            int rank = random.nextInt(size);
+            if (random.nextBoolean()) {
+                set.add(rank);
+                expected.set(rank);
+            } else {
+                set.remove(rank);
+                expected.clear(rank);
+            }
+            int from = random.nextInt(size);
+            assertEquals(expected.nextSetBit(from), set.next(from));
+        }
+    }
+}
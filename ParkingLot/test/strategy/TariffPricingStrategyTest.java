@@ -0,0 +1,77 @@
+package strategy;
+
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.Vehicle;
+import enums.DayType;
+import enums.SpotType;
+import enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TariffPricingStrategyTest {
+    private static final ZoneOffset ZONE = ZoneOffset.ofHoursMinutes(5, 30);
+
+    // Cars: Rs 40/hour, Rs 60/hour on weekdays 09:00-18:00, Rs 20/hour on weekend nights, capped at Rs 300 a day
+    private static final TariffPricingStrategy TARIFF = TariffPricingStrategy.builder(ZONE)
+            .defaultRate(VehicleType.CAR, 40)
+            .rate(VehicleType.CAR, DayType.WEEKDAY, LocalTime.of(9, 0), LocalTime.of(18, 0), 60)
+            .rate(VehicleType.CAR, DayType.WEEKEND, LocalTime.of(22, 0), LocalTime.of(6, 0), 20)
+            .dailyCap(VehicleType.CAR, 300)
+            .minimumCharge(VehicleType.CAR, 25)
+            .defaultRate(VehicleType.BIKE, 10)
+            .build();
+
+    // 2024-01-01 was a Monday
+    private static long at(int day, int hour, int minute, int second) {
+        return LocalDateTime.of(2024, 1, day, hour, minute, second).toInstant(ZONE).toEpochMilli();
+    }
+
+    private static double price(VehicleType type, long entry, long exit) {
+        Ticket ticket = new Ticket(1, new Vehicle("KA-01", type), new ParkingSpot(1, SpotType.MEDIUM), entry);
+        return TARIFF.calculatePrice(ticket, exit);
+    }
+
+    @Test
+    void stayInsideOneBand() {
+        assertEquals(120.0, price(VehicleType.CAR, at(1, 10, 0, 0), at(1, 12, 0, 0)), 1e-9);
+    }
+
+    @Test
+    void stayCrossingABandEdge() {
+        // An hour at the weekday day rate, then an hour at the default rate
+        assertEquals(100.0, price(VehicleType.CAR, at(1, 17, 0, 0), at(1, 19, 0, 0)), 1e-9);
+    }
+
+    @Test
+    void overnightWeekendBandWrapsPastMidnight() {
+        // Saturday 21-22 default, 22-24 night; Sunday 00-06 night, 06-07 default
+        assertEquals(240.0, price(VehicleType.CAR, at(6, 21, 0, 0), at(7, 7, 0, 0)), 1e-9);
+        // Friday night is a weekday, so only Saturday's early hours get the night rate
+        assertEquals(60.0, price(VehicleType.CAR, at(5, 23, 0, 0), at(6, 1, 0, 0)), 1e-9);
+    }
+
+    @Test
+    void multiDayStayIsCappedPerCalendarDay() {
+        // Monday to Wednesday each reach the cap; Thursday 00-02 is two default hours
+        assertEquals(980.0, price(VehicleType.CAR, at(1, 8, 0, 0), at(4, 2, 0, 0)), 1e-9);
+        // Two whole weeks of capped days, then two default hours
+        assertEquals(14 * 300 + 80.0, price(VehicleType.CAR, at(1, 0, 0, 0), at(15, 2, 0, 0)), 1e-9);
+    }
+
+    @Test
+    void shortStayPaysTheMinimumCharge() {
+        assertEquals(25.0, price(VehicleType.CAR, at(1, 10, 0, 0), at(1, 10, 10, 0)), 1e-9);
+    }
+
+    @Test
+    void partMinutesAreBilledAsStartedMinutes() {
+        // 31 started minutes at Rs 10/hour is 516.67 paise, rounded up
+        assertEquals(5.17, price(VehicleType.BIKE, at(1, 10, 0, 0), at(1, 10, 30, 30)), 1e-9);
+    }
+}
@@ -21,6 +21,10 @@ public class SplitwiseApp {
         manager.addExpense(d, 15000.0, List.of(a, b, c, d, e), SplitType.EQUAL);
         manager.addExpense(c, 20000.0, List.of(a, b, c, d, e), SplitType.EQUAL);
         manager.addExpense(e, 10000.0, List.of(a, b, c, d, e), SplitType.EQUAL);
+        manager.addExpense(b, 5000.0, List.of(a, b), SplitType.EQUAL);
+
+        // Entered by mistake; undoing it leaves the balances as if it was never added
+        manager.undoLastExpense();
 
         manager.showMinimizedBalances();
     }
@@ -1,98 +1,113 @@
 package entity;
 
+import interfaces.Ledger;
+import interfaces.SettlementConsumer;
+
 import java.util.*;
 
-public class BalanceSheet {
+public class BalanceSheet implements Ledger {
 
     // balances[A][B] => A owes B
     private final Map<User, Map<User, Double>> balances = new HashMap<>();
-    private final Set<User> allUsers = new HashSet<>();
+    // Running net per user (positive = owed money, negative = owes money), kept in step with balances
+    private final Map<User, Double> netBalances = new HashMap<>();
+    // Recorded expenses in the order they were added; Expense has identity equality
+    private final LinkedHashSet<Expense> expenses = new LinkedHashSet<>();
+    private final SettlementEngine settlementEngine = new SettlementEngine();
 
+    @Override
     public void addExpense(Expense expense) {
-        User payer = expense.getPayer();
-        allUsers.add(payer);
-
-        for (Map.Entry<User, Double> entry : expense.getShares().entrySet()) {
-            User user = entry.getKey();
-            double amount = entry.getValue();
-
-            allUsers.add(user);
-
-            if (user.equals(payer)) continue;
-
-            balances
-                    .computeIfAbsent(user, _ -> new HashMap<>())
-                    .merge(payer, amount, Double::sum);
+        if (!expenses.add(expense)) {
+            throw new IllegalArgumentException("Expense already recorded");
         }
+        apply(expense, 1);
     }
 
-    // Calculate net balance for a user (positive = owed money, negative = owes money)
-    private double getNetBalance(User user) {
-        double net = 0.0;
-
-        // Money this user owes to others
-        Map<User, Double> owes = balances.getOrDefault(user, Map.of());
-        for (double amount : owes.values()) {
-            net -= amount;
-        }
-
-        // Money others owe to this user
-        for (Map.Entry<User, Map<User, Double>> entry : balances.entrySet()) {
-            if (entry.getKey().equals(user)) continue;
-            net += entry.getValue().getOrDefault(user, 0.0);
+    /**
+     * Reverses a recorded expense, adjusting only the balances it touched.
+     */
+    @Override
+    public void removeExpense(Expense expense) {
+        if (!expenses.remove(expense)) {
+            throw new IllegalArgumentException("Expense not recorded");
         }
-
-        return net;
+        apply(expense, -1);
     }
 
-    // Show truly simplified balances (minimum transactions)
-    public void showMinimizedBalances() {
-        // Calculate net balance for each user
-        Map<User, Double> netBalances = new HashMap<>();
-        for (User user : allUsers) {
-            double net = getNetBalance(user);
-            if (Math.abs(net) > 0.01) { // Ignore very small amounts due to floating point
-                netBalances.put(user, net);
-            }
-        }
-
-        // Separate into debtors and creditors
-        List<Map.Entry<User, Double>> debtors = new ArrayList<>();
-        List<Map.Entry<User, Double>> creditors = new ArrayList<>();
-
-        for (Map.Entry<User, Double> entry : netBalances.entrySet()) {
-            if (entry.getValue() < 0) {
-                debtors.add(entry);
-            } else if (entry.getValue() > 0) {
-                creditors.add(entry);
-            }
+    /**
+     * Reverses the most recently added expense that is still recorded.
+     *
+     * @return the removed expense
+     */
+    @Override
+    public Expense undo() {
+        if (expenses.isEmpty()) {
+            throw new IllegalStateException("No expense to undo");
         }
+        Expense expense = expenses.removeLast();
+        apply(expense, -1);
+        return expense;
+    }
 
-        // Sort by amount (descending)
-        debtors.sort(Comparator.comparingDouble(Map.Entry::getValue));
-        creditors.sort(Comparator.comparingDouble(Map.Entry<User, Double>::getValue).reversed());
-
-        // Match debtors with creditors using greedy algorithm
-        int debtorIndex = 0;
-        int creditorIndex = 0;
+    // Adds (sign 1) or takes back (sign -1) each participant's share of the expense
+    private void apply(Expense expense, int sign) {
+        User payer = expense.getPayer();
+        for (Map.Entry<User, Double> entry : expense.getShares().entrySet()) {
+            User user = entry.getKey();
+            double amount = sign * entry.getValue();
 
-        while (debtorIndex < debtors.size() && creditorIndex < creditors.size()) {
-            User debtor = debtors.get(debtorIndex).getKey();
-            double debtAmount = -debtors.get(debtorIndex).getValue();
+            if (user.equals(payer)) continue;
 
-            User creditor = creditors.get(creditorIndex).getKey();
-            double creditAmount = creditors.get(creditorIndex).getValue();
+            Map<User, Double> owes = balances.computeIfAbsent(user, _ -> new HashMap<>());
+            // Drop pairs that an undo brought back to zero, leaving only float noise
+            owes.merge(payer, amount, (a, b) -> Math.abs(a + b) < 0.01 ? null : a + b);
+            if (owes.isEmpty()) balances.remove(user);
 
-            double settleAmount = Math.min(debtAmount, creditAmount);
+            netBalances.merge(user, -amount, Double::sum);
+            netBalances.merge(payer, amount, Double::sum);
+        }
+    }
 
-            System.out.printf("%s owes %s : %.2f%n",
-                    debtor.getId(), creditor.getId(), settleAmount);
+    // Net balance for a user (positive = owed money, negative = owes money), in O(1)
+    @Override
+    public double getNetBalance(User user) {
+        return netBalances.getOrDefault(user, 0.0);
+    }
 
-            debtors.get(debtorIndex).setValue(debtors.get(debtorIndex).getValue() + settleAmount);
-            creditors.get(creditorIndex).setValue(creditors.get(creditorIndex).getValue() - settleAmount);
+    // What the debtor owes the creditor less what the creditor owes the debtor
+    @Override
+    public double getOwed(User debtor, User creditor) {
+        double owed = balances.getOrDefault(debtor, Map.of()).getOrDefault(creditor, 0.0);
+        double owedBack = balances.getOrDefault(creditor, Map.of()).getOrDefault(debtor, 0.0);
+        return owed - owedBack;
+    }
 
-            if (Math.abs(debtors.get(debtorIndex).getValue()) < 0.01) debtorIndex++;
-            if (Math.abs(creditors.get(creditorIndex).getValue()) < 0.01) creditorIndex++;
+    @Override
+    public void settle(SettlementConsumer consumer) {
+        // Snapshot the running net balances in paise, rounded down, in O(U)
+        User[] users = new User[netBalances.size()];
+        long[] net = new long[users.length];
+        double[] fraction = new double[users.length];
+        int count = 0;
+        long total = 0;
+        for (Map.Entry<User, Double> entry : netBalances.entrySet()) {
+            double paise = entry.getValue() * 100;
+            users[count] = entry.getKey();
+            net[count] = (long) Math.floor(paise);
+            fraction[count] = paise - net[count];
+            total += net[count++];
+        }
+        // The exact nets sum to zero, so rounding down leaves -total paise unassigned. Giving them
+        // to the largest fractions, one each, rounds every net to within a paisa and keeps the sum
+        // at zero, so the settlement leaves nothing behind. O(U log U), like the settling itself.
+        Integer[] byFraction = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            byFraction[i] = i;
+        }
+        Arrays.sort(byFraction, (a, b) -> Double.compare(fraction[b], fraction[a]));
+        for (int i = 0; i < Math.min(-total, count); i++) {
+            net[byFraction[i]]++;
         }
+        settlementEngine.settle(users, net, count, consumer);
     }
 }
@@ -0,0 +1,212 @@
+package entity;
+
+import interfaces.Ledger;
+import interfaces.SettlementConsumer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Ledger for large groups. Each user is interned once to a dense int index, and amounts are
+ * kept as long paise, so balances add up exactly and settle to zero without epsilons.
+ *
+ * Pair balances live in an open-addressing table of two parallel long arrays: the key packs the
+ * two user indexes, and the value is what the lower index owes the higher one (negative when it
+ * is the other way round). That is 16 bytes per slot, instead of a map entry, a boxed Double and
+ * a nested map per pair. Net balances are a long per user.
+ *
+ * Each share is rounded to the nearest paisa when it is recorded, and the payer is credited the
+ * sum of the rounded shares, so the ledger always balances.
+ */
+public class DenseLedger implements Ledger {
+    private static final int PAISE_PER_RUPEE = 100;
+    private static final long EMPTY = -1;
+
+    private final Map<User, Integer> ids = new HashMap<>();
+    private User[] users = new User[16];
+    // Net per user index in paise (positive = owed money, negative = owes money)
+    private long[] net = new long[16];
+    private int userCount;
+
+    private long[] pairKeys = newPairKeys(64);
+    private long[] pairAmounts = new long[64];
+    private int pairCount;
+
+    // Recorded expenses in the order they were added; Expense has identity equality
+    private final LinkedHashSet<Expense> expenses = new LinkedHashSet<>();
+    private final SettlementEngine settlementEngine = new SettlementEngine();
+
+    @Override
+    public void addExpense(Expense expense) {
+        if (!expenses.add(expense)) {
+            throw new IllegalArgumentException("Expense already recorded");
+        }
+        apply(expense, 1);
+    }
+
+    @Override
+    public void removeExpense(Expense expense) {
+        if (!expenses.remove(expense)) {
+            throw new IllegalArgumentException("Expense not recorded");
+        }
+        apply(expense, -1);
+    }
+
+    @Override
+    public Expense undo() {
+        if (expenses.isEmpty()) {
+            throw new IllegalStateException("No expense to undo");
+        }
+        Expense expense = expenses.removeLast();
+        apply(expense, -1);
+        return expense;
+    }
+
+    @Override
+    public double getNetBalance(User user) {
+        return (double) getNetBalancePaise(user) / PAISE_PER_RUPEE;
+    }
+
+    public long getNetBalancePaise(User user) {
+        Integer id = ids.get(user);
+        return id == null ? 0 : net[id];
+    }
+
+    @Override
+    public double getOwed(User debtor, User creditor) {
+        return (double) getOwedPaise(debtor, creditor) / PAISE_PER_RUPEE;
+    }
+
+    /**
+     * @return what the debtor owes the creditor directly, in paise; negative if the creditor owes the debtor
+     */
+    public long getOwedPaise(User debtor, User creditor) {
+        Integer debtorId = ids.get(debtor);
+        Integer creditorId = ids.get(creditor);
+        if (debtorId == null || creditorId == null || debtorId.equals(creditorId)) {
+            return 0;
+        }
+        int slot = findSlot(pairKey(debtorId, creditorId));
+        long amount = pairKeys[slot] == EMPTY ? 0 : pairAmounts[slot];
+        return debtorId < creditorId ? amount : -amount;
+    }
+
+    @Override
+    public void settle(SettlementConsumer consumer) {
+        settlementEngine.settle(users, net, userCount, consumer);
+    }
+
+    // Adds (sign 1) or takes back (sign -1) each participant's share of the expense
+    private void apply(Expense expense, int sign) {
+        int payer = intern(expense.getPayer());
+        for (Map.Entry<User, Double> entry : expense.getShares().entrySet()) {
+            int user = intern(entry.getKey());
+            if (user == payer) continue;
+
+            long amount = sign * toPaise(entry.getValue());
+            addOwed(user, payer, amount);
+            net[user] -= amount;
+            net[payer] += amount;
+        }
+    }
+
+    private int intern(User user) {
+        Integer id = ids.get(user);
+        if (id != null) {
+            return id;
+        }
+        if (userCount == users.length) {
+            users = Arrays.copyOf(users, userCount * 2);
+            net = Arrays.copyOf(net, userCount * 2);
+        }
+        users[userCount] = user;
+        ids.put(user, userCount);
+        return userCount++;
+    }
+
+    // Records that debtor owes creditor amount more; pairs that come back to zero are removed
+    private void addOwed(int debtor, int creditor, long amount) {
+        long key = pairKey(debtor, creditor);
+        long signed = debtor < creditor ? amount : -amount;
+        int slot = findSlot(key);
+        if (pairKeys[slot] == EMPTY) {
+            if (signed == 0) return;
+            pairKeys[slot] = key;
+            pairAmounts[slot] = signed;
+            if (++pairCount * 4 > pairKeys.length * 3) {
+                resizePairs();
+            }
+            return;
+        }
+        pairAmounts[slot] += signed;
+        if (pairAmounts[slot] == 0) {
+            deletePair(slot);
+        }
+    }
+
+    // Slot holding the key, or the empty slot where it would go
+    private int findSlot(long key) {
+        int mask = pairKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (pairKeys[slot] != EMPTY && pairKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion, so lookups never need tombstones
+    private void deletePair(int slot) {
+        int mask = pairKeys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (pairKeys[next] != EMPTY) {
+            int home = hash(pairKeys[next]) & mask;
+            // Move the entry into the hole unless its home lies cyclically after the hole
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                pairKeys[hole] = pairKeys[next];
+                pairAmounts[hole] = pairAmounts[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        pairKeys[hole] = EMPTY;
+        pairAmounts[hole] = 0;
+        pairCount--;
+    }
+
+    private void resizePairs() {
+        long[] oldKeys = pairKeys;
+        long[] oldAmounts = pairAmounts;
+        pairKeys = newPairKeys(oldKeys.length * 2);
+        pairAmounts = new long[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(oldKeys[i]);
+                pairKeys[slot] = oldKeys[i];
+                pairAmounts[slot] = oldAmounts[i];
+            }
+        }
+    }
+
+    private static long[] newPairKeys(int size) {
+        long[] keys = new long[size];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+
+    // Lower index in the high half, so a pair has one key whichever way the debt runs
+    static long pairKey(int a, int b) {
+        return a < b ? (long) a << 32 | b : (long) b << 32 | a;
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    private static long toPaise(double amount) {
+        return Math.round(amount * PAISE_PER_RUPEE);
+    }
+}
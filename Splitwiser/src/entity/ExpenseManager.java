@@ -1,7 +1,10 @@
 package entity;
 
+import enums.LedgerType;
 import enums.SplitType;
+import factory.LedgerFactory;
 import factory.SplitFactory;
+import interfaces.Ledger;
 import interfaces.SplitStrategy;
 
 import java.util.List;
@@ -12,7 +15,18 @@ import java.util.Map;
  */
 public class ExpenseManager {
 
-    private final BalanceSheet balanceSheet = new BalanceSheet();
+    private final Ledger balanceSheet;
+
+    public ExpenseManager() {
+        this(LedgerType.MAP);
+    }
+
+    /**
+     * @param ledgerType how balances are stored; DENSE keeps exact amounts in primitive arrays
+     */
+    public ExpenseManager(LedgerType ledgerType) {
+        this.balanceSheet = LedgerFactory.getLedger(ledgerType);
+    }
 
     /**
      * Adds a new expense and updates the balance sheet.
@@ -21,13 +35,42 @@ public class ExpenseManager {
      * @param amount       the total amount of the expense
      * @param participants the list of users involved in the expense
      * @param splitType    the type of split (EQUAL, EXACT, PERCENTAGE)
+     * @return the recorded expense, which can later be passed to {@link #removeExpense}
      */
-    public void addExpense(User payer, double amount, List<User> participants, SplitType splitType) {
+    public Expense addExpense(User payer, double amount, List<User> participants, SplitType splitType) {
         SplitStrategy strategy = SplitFactory.getStrategy(splitType);
         Map<User, Double> shares = strategy.split(amount, participants);
 
         Expense expense = new Expense(payer, shares);
         balanceSheet.addExpense(expense);
+        return expense;
+    }
+
+    /**
+     * Removes a previously added expense and reverses its effect on the balances.
+     *
+     * @param expense the expense returned by {@link #addExpense}
+     */
+    public void removeExpense(Expense expense) {
+        balanceSheet.removeExpense(expense);
+    }
+
+    /**
+     * Removes the most recently added expense.
+     *
+     * @return the removed expense
+     */
+    public Expense undoLastExpense() {
+        return balanceSheet.undo();
+    }
+
+    /**
+     * Computes the payments that settle every balance.
+     *
+     * @return the settlements, largest debts first
+     */
+    public List<Settlement> settle() {
+        return balanceSheet.settle();
     }
 
     /**
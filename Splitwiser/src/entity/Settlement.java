@@ -0,0 +1,38 @@
+package entity;
+
+/**
+ * One payment that settles part of a group's balances.
+ */
+public class Settlement {
+    private final User debtor;
+    private final User creditor;
+    private final long amountPaise;
+
+    public Settlement(User debtor, User creditor, long amountPaise) {
+        this.debtor = debtor;
+        this.creditor = creditor;
+        this.amountPaise = amountPaise;
+    }
+
+    public User getDebtor() {
+        return debtor;
+    }
+
+    public User getCreditor() {
+        return creditor;
+    }
+
+    public long getAmountPaise() {
+        return amountPaise;
+    }
+
+    public double getAmount() {
+        return amountPaise / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s owes %s : %d.%02d",
+                debtor.getId(), creditor.getId(), amountPaise / 100, amountPaise % 100);
+    }
+}
@@ -0,0 +1,88 @@
+package entity;
+
+import interfaces.SettlementConsumer;
+
+/**
+ * Turns net balances into a short list of payments.
+ *
+ * Debtors and creditors go into two max-heaps of user indexes, ordered by how much each still
+ * owes or is owed. Each step pays the largest debt to the largest credit, which clears at least
+ * one of the two, so a group of U users settles in at most U - 1 payments and O(U log U) time.
+ *
+ * The heap and amount arrays are kept between calls and only grow, so settling many groups
+ * with one engine allocates nothing after the largest group. Not thread-safe.
+ */
+public class SettlementEngine {
+    private int[] debtors = new int[16];
+    private int[] creditors = new int[16];
+    // Amount each user still owes or is owed, by index
+    private long[] remaining = new long[16];
+
+    /**
+     * @param users users by index
+     * @param net   net balance by index in paise (positive = owed money, negative = owes money)
+     * @param count number of users; indexes from count on are ignored
+     */
+    public void settle(User[] users, long[] net, int count, SettlementConsumer consumer) {
+        if (remaining.length < count) {
+            debtors = new int[count];
+            creditors = new int[count];
+            remaining = new long[count];
+        }
+        int debtorCount = 0;
+        int creditorCount = 0;
+        for (int id = 0; id < count; id++) {
+            remaining[id] = Math.abs(net[id]);
+            if (net[id] < 0) debtors[debtorCount++] = id;
+            else if (net[id] > 0) creditors[creditorCount++] = id;
+        }
+        heapify(debtors, debtorCount);
+        heapify(creditors, creditorCount);
+
+        // Nets that sum to zero empty both sides together; stopping at either keeps unbalanced input in bounds
+        while (debtorCount > 0 && creditorCount > 0) {
+            int debtor = debtors[0];
+            int creditor = creditors[0];
+            long amount = Math.min(remaining[debtor], remaining[creditor]);
+            consumer.accept(users[debtor], users[creditor], amount);
+
+            remaining[debtor] -= amount;
+            remaining[creditor] -= amount;
+            debtorCount = remaining[debtor] == 0 ? pop(debtors, debtorCount) : siftDown(debtors, debtorCount);
+            creditorCount = remaining[creditor] == 0 ? pop(creditors, creditorCount) : siftDown(creditors, creditorCount);
+        }
+    }
+
+    private void heapify(int[] heap, int size) {
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(heap, i, size);
+        }
+    }
+
+    // Removes the root and returns the new size
+    private int pop(int[] heap, int size) {
+        heap[0] = heap[--size];
+        siftDown(heap, 0, size);
+        return size;
+    }
+
+    // Restores the heap after the root's amount went down, and returns the unchanged size
+    private int siftDown(int[] heap, int size) {
+        siftDown(heap, 0, size);
+        return size;
+    }
+
+    private void siftDown(int[] heap, int i, int size) {
+        int id = heap[i];
+        long amount = remaining[id];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && remaining[heap[child + 1]] > remaining[heap[child]]) child++;
+            if (remaining[heap[child]] <= amount) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = id;
+    }
+}
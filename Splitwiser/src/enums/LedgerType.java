@@ -0,0 +1,8 @@
+package enums;
+
+public enum LedgerType {
+    // Nested maps of users to double amounts
+    MAP,
+    // Users interned to int indexes, amounts as long paise in primitive arrays
+    DENSE
+}
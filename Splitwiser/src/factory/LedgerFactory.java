@@ -0,0 +1,16 @@
+package factory;
+
+import entity.BalanceSheet;
+import entity.DenseLedger;
+import enums.LedgerType;
+import interfaces.Ledger;
+
+public class LedgerFactory {
+
+    public static Ledger getLedger(LedgerType type) {
+        return switch (type) {
+            case MAP -> new BalanceSheet();
+            case DENSE -> new DenseLedger();
+        };
+    }
+}
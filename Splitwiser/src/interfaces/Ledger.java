@@ -0,0 +1,68 @@
+package interfaces;
+
+import entity.Expense;
+import entity.Settlement;
+import entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records expenses and tracks who owes whom.
+ */
+public interface Ledger {
+
+    void addExpense(Expense expense);
+
+    /**
+     * Reverses a previously added expense.
+     *
+     * @param expense the expense to remove
+     */
+    void removeExpense(Expense expense);
+
+    /**
+     * Reverses the most recently added expense that is still recorded.
+     *
+     * @return the removed expense
+     */
+    Expense undo();
+
+    /**
+     * @param user the user to look up
+     * @return positive if the user is owed money, negative if the user owes money
+     */
+    double getNetBalance(User user);
+
+    /**
+     * @param debtor   the user who owes
+     * @param creditor the user who is owed
+     * @return what the debtor owes the creditor directly, before simplification; negative if
+     * the creditor owes the debtor
+     */
+    double getOwed(User debtor, User creditor);
+
+    /**
+     * Simplifies the balances to a few payments and hands each one to the consumer.
+     *
+     * @param consumer receives each payment, largest debts first
+     */
+    void settle(SettlementConsumer consumer);
+
+    /**
+     * @return the payments that settle every balance
+     */
+    default List<Settlement> settle() {
+        List<Settlement> settlements = new ArrayList<>();
+        settle((debtor, creditor, amountPaise) -> settlements.add(new Settlement(debtor, creditor, amountPaise)));
+        return settlements;
+    }
+
+    /**
+     * Prints the balances simplified to the fewest transactions.
+     */
+    default void showMinimizedBalances() {
+        settle((debtor, creditor, amountPaise) ->
+                System.out.println(new Settlement(debtor, creditor, amountPaise)));
+    }
+}
@@ -0,0 +1,15 @@
+package interfaces;
+
+import entity.User;
+
+/**
+ * Receives settlements one at a time, so callers that only forward them need not build a list.
+ */
+public interface SettlementConsumer {
+    /**
+     * @param debtor      the user who pays
+     * @param creditor    the user who is paid
+     * @param amountPaise the amount in paise, always positive
+     */
+    void accept(User debtor, User creditor, long amountPaise);
+}
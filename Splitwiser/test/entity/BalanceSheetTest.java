@@ -0,0 +1,59 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceSheetTest {
+    private final User a = new User("a", "A");
+    private final User b = new User("b", "B");
+    private final User c = new User("c", "C");
+
+    private static Expense equalSplit(User payer, double amount, List<User> participants) {
+        Map<User, Double> shares = new HashMap<>();
+        for (User user : participants) {
+            shares.put(user, amount / participants.size());
+        }
+        return new Expense(payer, shares);
+    }
+
+    @Test
+    void getOwedNetsBothDirections() {
+        BalanceSheet sheet = new BalanceSheet();
+        sheet.addExpense(equalSplit(a, 100, List.of(a, b)));
+        sheet.addExpense(equalSplit(b, 30, List.of(a, b)));
+
+        assertEquals(35, sheet.getOwed(b, a), 1e-9);
+        assertEquals(-35, sheet.getOwed(a, b), 1e-9);
+        assertEquals(0, sheet.getOwed(a, c), 1e-9);
+    }
+
+    @Test
+    void settleLeavesNoPaisaBehindWhenSharesDoNotDivideEvenly() {
+        List<User> group = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            group.add(new User("u" + i, "U" + i));
+        }
+        BalanceSheet sheet = new BalanceSheet();
+        // Six debts of 14.2857.. round to 14.29 each, the credit of 85.714.. to 85.71: 3 paise apart
+        sheet.addExpense(equalSplit(group.get(0), 100, group));
+
+        Map<User, Long> paid = new HashMap<>();
+        sheet.settle((debtor, creditor, amountPaise) -> {
+            paid.merge(debtor, -amountPaise, Long::sum);
+            paid.merge(creditor, amountPaise, Long::sum);
+        });
+
+        for (User user : group) {
+            double net = sheet.getNetBalance(user) * 100;
+            long settled = paid.getOrDefault(user, 0L);
+            assertTrue(Math.abs(settled - net) < 1, user.getId() + " settled " + settled + " of " + net);
+        }
+    }
+}
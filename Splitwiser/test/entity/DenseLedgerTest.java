@@ -0,0 +1,223 @@
+package entity;
+
+import enums.LedgerType;
+import factory.LedgerFactory;
+import interfaces.Ledger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DenseLedgerTest {
+    // The pair table starts with 64 slots and grows past 48 pairs
+    private static final int INITIAL_SLOTS = 64;
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new User("u" + i, "U" + i));
+        }
+        return users;
+    }
+
+    // Interns the users in list order, so each one's index is its position
+    private static DenseLedger ledgerOf(List<User> users) {
+        DenseLedger ledger = new DenseLedger();
+        for (User user : users) {
+            ledger.addExpense(new Expense(user, Map.of(user, 1.0)));
+        }
+        return ledger;
+    }
+
+    private static Expense owes(User debtor, User creditor, double amount) {
+        return new Expense(creditor, Map.of(debtor, amount));
+    }
+
+    private static Expense equalSplit(User payer, double amount, List<User> participants) {
+        Map<User, Double> shares = new HashMap<>();
+        for (User user : participants) {
+            shares.put(user, amount / participants.size());
+        }
+        return new Expense(payer, shares);
+    }
+
+    @Test
+    void undoingEveryExpenseReturnsToExactlyZero() {
+        List<User> group = users(5);
+        DenseLedger ledger = new DenseLedger();
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 200; i++) {
+            User payer = group.get(random.nextInt(group.size()));
+            ledger.addExpense(equalSplit(payer, random.nextInt(1, 100_000) / 7.0, group.subList(0, random.nextInt(2, 6))));
+        }
+        for (int i = 0; i < 200; i++) {
+            ledger.undo();
+        }
+
+        for (User user : group) {
+            assertEquals(0, ledger.getNetBalancePaise(user));
+            for (User other : group) {
+                assertEquals(0, ledger.getOwedPaise(user, other));
+            }
+        }
+        assertEquals(List.of(), ledger.settle());
+        assertThrows(IllegalStateException.class, ledger::undo);
+    }
+
+    @Test
+    void removingAMiddleExpenseLeavesTheOthers() {
+        List<User> group = users(3);
+        User a = group.get(0), b = group.get(1), c = group.get(2);
+        DenseLedger ledger = new DenseLedger();
+        Expense first = owes(b, a, 10);
+        Expense middle = owes(c, b, 25.5);
+        Expense last = owes(c, a, 4);
+        ledger.addExpense(first);
+        ledger.addExpense(middle);
+        ledger.addExpense(last);
+
+        ledger.removeExpense(middle);
+
+        assertEquals(1400, ledger.getNetBalancePaise(a));
+        assertEquals(-1000, ledger.getNetBalancePaise(b));
+        assertEquals(-400, ledger.getNetBalancePaise(c));
+        assertEquals(0, ledger.getOwedPaise(c, b));
+        assertThrows(IllegalArgumentException.class, () -> ledger.removeExpense(middle));
+        assertSame(last, ledger.undo());
+        assertSame(first, ledger.undo());
+    }
+
+    @Test
+    void getOwedPaiseIsSignedByDirection() {
+        List<User> group = users(3);
+        User a = group.get(0), b = group.get(1), c = group.get(2);
+        DenseLedger ledger = new DenseLedger();
+        // b is interned after a, so the pair is stored from a's side; check both orders
+        ledger.addExpense(owes(b, a, 12.34));
+        ledger.addExpense(owes(a, b, 2.34));
+
+        assertEquals(1000, ledger.getOwedPaise(b, a));
+        assertEquals(-1000, ledger.getOwedPaise(a, b));
+        assertEquals(10.0, ledger.getOwed(b, a));
+        assertEquals(0, ledger.getOwedPaise(a, c));
+        assertEquals(0, ledger.getOwedPaise(a, a));
+    }
+
+    @Test
+    void deletingTheStartOfAWrappedProbeChainKeepsTheRestReachable() {
+        List<User> group = users(40);
+        DenseLedger ledger = ledgerOf(group);
+        int mask = INITIAL_SLOTS - 1;
+        // Three pairs homed at the last slot, which wrap to slots 0 and 1, and one homed at slot 0
+        List<int[]> lastSlot = new ArrayList<>();
+        int[] firstSlot = null;
+        for (int i = 0; i < group.size() && (lastSlot.size() < 3 || firstSlot == null); i++) {
+            for (int j = i + 1; j < group.size(); j++) {
+                int home = DenseLedger.hash(DenseLedger.pairKey(i, j)) & mask;
+                if (home == mask && lastSlot.size() < 3) lastSlot.add(new int[]{i, j});
+                else if (home == 0 && firstSlot == null) firstSlot = new int[]{i, j};
+            }
+        }
+        List<int[]> chain = new ArrayList<>(lastSlot);
+        chain.add(firstSlot);
+        List<Expense> expenses = new ArrayList<>();
+        for (int k = 0; k < chain.size(); k++) {
+            int[] pair = chain.get(k);
+            Expense expense = owes(group.get(pair[0]), group.get(pair[1]), k + 1);
+            ledger.addExpense(expense);
+            expenses.add(expense);
+        }
+
+        ledger.removeExpense(expenses.get(0));
+        int[] removed = chain.get(0);
+        assertEquals(0, ledger.getOwedPaise(group.get(removed[0]), group.get(removed[1])));
+        for (int k = 1; k < chain.size(); k++) {
+            int[] pair = chain.get(k);
+            assertEquals((k + 1) * 100L, ledger.getOwedPaise(group.get(pair[0]), group.get(pair[1])));
+        }
+        ledger.removeExpense(expenses.get(1));
+        int[] first = chain.get(3);
+        assertEquals(400, ledger.getOwedPaise(group.get(first[0]), group.get(first[1])));
+    }
+
+    @Test
+    void pairTableGrowsPastItsLoadFactor() {
+        List<User> group = users(300);
+        DenseLedger ledger = new DenseLedger();
+        User payer = group.get(0);
+        List<Expense> expenses = new ArrayList<>();
+        // 299 pairs grow the table from 64 to 512 slots
+        for (int i = 1; i < group.size(); i++) {
+            Expense expense = owes(group.get(i), payer, i);
+            ledger.addExpense(expense);
+            expenses.add(expense);
+        }
+
+        long total = 0;
+        for (int i = 1; i < group.size(); i++) {
+            assertEquals(i * 100L, ledger.getOwedPaise(group.get(i), payer));
+            assertEquals(-i * 100L, ledger.getNetBalancePaise(group.get(i)));
+            total += i * 100L;
+        }
+        assertEquals(total, ledger.getNetBalancePaise(payer));
+
+        for (int i = 0; i < expenses.size(); i += 2) {
+            ledger.removeExpense(expenses.get(i));
+        }
+        for (int i = 1; i < group.size(); i++) {
+            assertEquals(i % 2 == 1 ? 0 : i * 100L, ledger.getOwedPaise(group.get(i), payer));
+        }
+    }
+
+    @Test
+    void matchesTheMapLedger() {
+        List<User> group = users(12);
+        Ledger map = LedgerFactory.getLedger(LedgerType.MAP);
+        Ledger dense = LedgerFactory.getLedger(LedgerType.DENSE);
+        SplittableRandom random = new SplittableRandom(7);
+        List<Expense> recorded = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Shares in whole paise, so both ledgers hold the same amounts
+            Map<User, Double> shares = new HashMap<>();
+            for (User user : group) {
+                if (random.nextInt(3) == 0) shares.put(user, random.nextInt(1, 50_000) / 100.0);
+            }
+            Expense expense = new Expense(group.get(random.nextInt(group.size())), shares);
+            map.addExpense(expense);
+            dense.addExpense(expense);
+            recorded.add(expense);
+            if (random.nextInt(5) == 0) {
+                Expense removed = recorded.remove(random.nextInt(recorded.size()));
+                map.removeExpense(removed);
+                dense.removeExpense(removed);
+            }
+        }
+
+        for (User user : group) {
+            assertEquals(map.getNetBalance(user), dense.getNetBalance(user), 1e-6);
+            for (User other : group) {
+                assertEquals(map.getOwed(user, other), dense.getOwed(user, other), 1e-6);
+            }
+        }
+        // Ties may be broken in a different order, but each user pays or receives the same in total
+        assertEquals(settledByUser(map), settledByUser(dense));
+        assertTrue(dense.settle().size() < group.size());
+    }
+
+    private static Map<User, Long> settledByUser(Ledger ledger) {
+        Map<User, Long> settled = new HashMap<>();
+        ledger.settle((debtor, creditor, amountPaise) -> {
+            settled.merge(debtor, -amountPaise, Long::sum);
+            settled.merge(creditor, amountPaise, Long::sum);
+        });
+        return settled;
+    }
+}
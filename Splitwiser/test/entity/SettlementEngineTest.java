@@ -0,0 +1,133 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SettlementEngineTest {
+
+    private static User[] users(int count) {
+        User[] users = new User[count];
+        for (int i = 0; i < count; i++) {
+            users[i] = new User("u" + i, "U" + i);
+        }
+        return users;
+    }
+
+    private static List<Settlement> settle(SettlementEngine engine, User[] users, long[] net, int count) {
+        List<Settlement> settlements = new ArrayList<>();
+        engine.settle(users, net, count,
+                (debtor, creditor, amountPaise) -> settlements.add(new Settlement(debtor, creditor, amountPaise)));
+        return settlements;
+    }
+
+    // Checks that the payments take every user from their net balance to zero
+    private static void assertSettles(User[] users, long[] net, int count, List<Settlement> settlements) {
+        long[] left = new long[count];
+        System.arraycopy(net, 0, left, 0, count);
+        for (Settlement settlement : settlements) {
+            assertTrue(settlement.getAmountPaise() > 0, settlements.toString());
+            left[indexOf(users, settlement.getDebtor())] += settlement.getAmountPaise();
+            left[indexOf(users, settlement.getCreditor())] -= settlement.getAmountPaise();
+        }
+        assertEquals(0, Arrays.stream(left).filter(amount -> amount != 0).count(), settlements.toString());
+    }
+
+    private static int indexOf(User[] users, User user) {
+        for (int i = 0; i < users.length; i++) {
+            if (users[i] == user) return i;
+        }
+        throw new AssertionError("Unknown user " + user.getId());
+    }
+
+    @Test
+    void allZeroNetsNeedNoPayments() {
+        assertEquals(List.of(), settle(new SettlementEngine(), users(4), new long[4], 4));
+        assertEquals(List.of(), settle(new SettlementEngine(), new User[0], new long[0], 0));
+    }
+
+    @Test
+    void singleDebtorPaysEveryCreditor() {
+        User[] users = users(6);
+        long[] net = {-1500, 100, 200, 300, 400, 500};
+        List<Settlement> settlements = settle(new SettlementEngine(), users, net, 6);
+
+        assertEquals(5, settlements.size());
+        for (Settlement settlement : settlements) {
+            assertSame(users[0], settlement.getDebtor());
+        }
+        assertSettles(users, net, 6, settlements);
+    }
+
+    @Test
+    void paysTheLargestDebtToTheLargestCreditFirst() {
+        User[] users = users(5);
+        long[] net = {-500, -300, -200, 650, 350};
+        List<Settlement> settlements = settle(new SettlementEngine(), users, net, 5);
+
+        List<String> expected = List.of("u0 owes u3 : 5.00", "u1 owes u4 : 3.00", "u2 owes u3 : 1.50", "u2 owes u4 : 0.50");
+        assertEquals(expected, settlements.stream().map(Settlement::toString).toList());
+    }
+
+    @Test
+    void randomGroupsSettleInAtMostOneFewerPaymentsThanUsers() {
+        SplittableRandom random = new SplittableRandom(9);
+        SettlementEngine engine = new SettlementEngine();
+        for (int round = 0; round < 200; round++) {
+            int count = random.nextInt(1, 60);
+            User[] users = users(count);
+            long[] net = new long[count];
+            for (int i = 0; i < 3 * count; i++) {
+                long amount = random.nextLong(1, 100_000);
+                net[random.nextInt(count)] -= amount;
+                net[random.nextInt(count)] += amount;
+            }
+            long involved = Arrays.stream(net).filter(amount -> amount != 0).count();
+            List<Settlement> settlements = settle(engine, users, net, count);
+
+            assertTrue(settlements.size() <= Math.max(0, involved - 1), settlements.toString());
+            assertSettles(users, net, count, settlements);
+        }
+    }
+
+    @Test
+    void reusedEngineIgnoresStateFromALargerGroup() {
+        SettlementEngine engine = new SettlementEngine();
+        User[] large = users(40);
+        long[] largeNet = new long[40];
+        for (int i = 0; i < 20; i++) {
+            largeNet[i] = -(i + 1) * 100L;
+            largeNet[39 - i] = (i + 1) * 100L;
+        }
+        assertSettles(large, largeNet, 40, settle(engine, large, largeNet, 40));
+
+        // The arrays run past count with stale balances, which must be ignored
+        User[] small = users(3);
+        long[] smallNet = {-250, 100, 150};
+        List<Settlement> settlements = settle(engine, large, new long[]{-250, 100, 150, -999, 999}, 3);
+        assertEquals(List.of("u0 owes u2 : 1.50", "u0 owes u1 : 1.00"),
+                settlements.stream().map(Settlement::toString).toList());
+        assertSettles(small, smallNet, 3, settle(engine, small, smallNet, 3));
+    }
+
+    @Test
+    void unbalancedInputStopsWhenEitherSideRunsOut() {
+        User[] users = users(3);
+        SettlementEngine engine = new SettlementEngine();
+
+        // Creditors run out first
+        List<Settlement> settlements = settle(engine, users, new long[]{-300, -200, 100}, 3);
+        assertEquals(List.of("u0 owes u2 : 1.00"), settlements.stream().map(Settlement::toString).toList());
+
+        // Debtors run out first
+        settlements = settle(engine, users, new long[]{-100, 300, 200}, 3);
+        assertEquals(List.of("u0 owes u1 : 1.00"), settlements.stream().map(Settlement::toString).toList());
+    }
+}
@@ -5,7 +5,7 @@ import enums.OrderStatus;
 import java.util.List;
 
 public class Order {
-    private final String orderId;
+    private final long orderId;
     private final User user;
 
     public List<OrderItem> getItems() {
@@ -15,7 +15,7 @@ public class Order {
     private final List<OrderItem> items;
     private OrderStatus status;
 
-    public Order(String orderId, User user, List<OrderItem> items) {
+    public Order(long orderId, User user, List<OrderItem> items) {
         this.orderId = orderId;
         this.user = user;
         this.items = items;
@@ -30,7 +30,7 @@ public class Order {
         this.status = status;
     }
 
-    public String getOrderId() {
+    public long getOrderId() {
         return orderId;
     }
 
@@ -7,12 +7,26 @@ import entity.User;
 import enums.OrderStatus;
 import enums.PaymentMode;
 import factory.PaymentFactory;
+import generator.SnowflakeIdGenerator;
+import interfaces.IdGenerator;
 import interfaces.PaymentStrategy;
 import java.util.List;
-import java.util.UUID;
 
 public class OrderService {
 
+    // Shared so that services created without their own generator still never repeat an order ID
+    private static final IdGenerator DEFAULT_ID_GENERATOR = new SnowflakeIdGenerator(0);
+
+    private final IdGenerator idGenerator;
+
+    public OrderService() {
+        this(DEFAULT_ID_GENERATOR);
+    }
+
+    public OrderService(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
     public Order placeOrder(User user, Cart cart, PaymentMode mode) {
 
         List<OrderItem> items = cart.getItems()
@@ -21,7 +35,7 @@ public class OrderService {
                 .map(entry -> new OrderItem(entry.getKey(), entry.getValue()))
                 .toList();
 
-        Order order = new Order(UUID.randomUUID().toString(), user, items);
+        Order order = new Order(idGenerator.nextId(), user, items);
 
         PaymentStrategy payment = PaymentFactory.getPaymentMethod(mode);
         boolean success = payment.pay(order.totalAmount());
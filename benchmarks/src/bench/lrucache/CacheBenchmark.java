@@ -0,0 +1,268 @@
+package bench.lrucache;
+
+import cache.ConcurrentLRUCache;
+import cache.LRUCache;
+import cache.WTinyLfuPolicy;
+import interfaces.Cache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cache implementations with each other and with two JDK baselines, so a change to
+ * any of them can be checked for throughput, hit rate and allocation regressions.
+ *
+ * Caches: lru and tinylfu (LRUCache with each policy), concurrent (ConcurrentLRUCache),
+ * linkedhashmap (LinkedHashMap in access order, evicting its eldest entry) and chm (an unbounded
+ * ConcurrentHashMap, the cost floor of a hash lookup; its hit rate is not comparable). With more
+ * than one thread, the caches that are not thread-safe run behind a lock, as callers would use them.
+ *
+ * Workloads, each over a Zipf(0.9) key space four times the capacity:
+ *   zipf  - read-through: a get per key, and a put after each miss
+ *   scan  - zipf, with a third of the accesses spent scanning cold keys in bursts of one capacity
+ *   mixed - 75% gets and 25% puts, with no put on a miss
+ *
+ * Each thread replays its own pre-generated stream, and keys are boxed ahead of time, so
+ * gc.alloc.rate.norm is the cache's own allocation. Hit rate is hits / reads.
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar CacheBenchmark -t 4 -prof gc
+ *   Read scaling of the concurrent cache: run with -t 1 and again with -t 32 (on at least 32
+ *   hardware threads), e.g. -p cache=concurrent,chm,lru -p workload=zipf -t 32
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+    private static final int STREAM_LENGTH = 1 << 20;
+
+    @Param({"lru", "tinylfu", "concurrent", "linkedhashmap", "chm"})
+    public String cache;
+
+    @Param({"zipf", "scan", "mixed"})
+    public String workload;
+
+    @Param({"1000", "100000"})
+    public int capacity;
+
+    private Cache<Long, Long> target;
+    private Long[] keys;
+    private boolean readThrough;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) {
+        target = switch (cache) {
+            case "lru" -> new LRUCache<>(capacity);
+            case "tinylfu" -> new LRUCache<>(capacity, new WTinyLfuPolicy<>());
+            case "concurrent" -> new ConcurrentLRUCache<>(capacity);
+            case "linkedhashmap" -> new LinkedHashMapCache<>(capacity);
+            case "chm" -> new ConcurrentHashMapCache<>(capacity);
+            default -> throw new IllegalArgumentException("Unknown cache: " + cache);
+        };
+        boolean threadSafe = cache.equals("concurrent") || cache.equals("chm");
+        if (params.getThreads() > 1 && !threadSafe) {
+            target = new LockedCache<>(target);
+        }
+        keys = new Long[capacity * 8];
+        for (int i = 0; i < keys.length; i++) {
+            // Spread ranks over the long range so keys do not hash in order
+            keys[i] = i * 0x5DEECE66DL + 17;
+        }
+        readThrough = !workload.equals("mixed");
+    }
+
+    // Indexes into the key table, replayed in a loop; a write is stored as the complement of its index
+    @State(Scope.Thread)
+    public static class Stream {
+        private int[] operations;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(CacheBenchmark benchmark, ThreadParams threadParams) {
+            operations = stream(benchmark.workload, benchmark.capacity, threadParams.getThreadIndex());
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitCounters {
+        public long reads;
+        public long hits;
+    }
+
+    @Benchmark
+    public Long access(Stream stream, HitCounters counters) {
+        int op = stream.operations[stream.cursor];
+        stream.cursor = (stream.cursor + 1) & (STREAM_LENGTH - 1);
+        if (op < 0) {
+            Long key = keys[~op];
+            return target.put(key, key);
+        }
+        Long key = keys[op];
+        counters.reads++;
+        Long value = target.get(key);
+        if (value != null) {
+            counters.hits++;
+        } else if (readThrough) {
+            target.put(key, key);
+        }
+        return value;
+    }
+
+    private static int[] stream(String workload, int capacity, int thread) {
+        int hotKeys = capacity * 4;
+        double[] cumulative = new double[hotKeys];
+        double total = 0;
+        for (int rank = 0; rank < hotKeys; rank++) {
+            total += 1 / Math.pow(rank + 1, 0.9);
+            cumulative[rank] = total;
+        }
+        SplittableRandom random = new SplittableRandom(11 + thread);
+        int[] stream = new int[STREAM_LENGTH];
+        int scanCursor = 0;
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            if (workload.equals("scan") && i % (capacity * 3) < capacity) {
+                // Cold keys in the upper half of the table, cycled so the scan never repeats within a cache's reach
+                stream[i] = hotKeys + scanCursor++ % hotKeys;
+                continue;
+            }
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            rank = rank < 0 ? -rank - 1 : rank;
+            boolean write = workload.equals("mixed") && random.nextInt(4) == 0;
+            stream[i] = write ? ~rank : rank;
+        }
+        return stream;
+    }
+
+    // Wraps rather than extends the map, so the baseline is not a Serializable class of its own
+    private static class LinkedHashMapCache<K, V> implements Cache<K, V> {
+        private final LinkedHashMap<K, V> map;
+        private final int capacity;
+
+        private LinkedHashMapCache(int capacity) {
+            this.map = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        public V get(K key) {
+            return map.get(key);
+        }
+
+        // Evicts the eldest entry, which in access order is the first one
+        @Override
+        public V put(K key, V value) {
+            V previous = map.put(key, value);
+            if (map.size() > capacity) {
+                Iterator<K> eldest = map.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            return previous;
+        }
+
+        @Override
+        public V remove(K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+    }
+
+    private static class ConcurrentHashMapCache<K, V> implements Cache<K, V> {
+        private final ConcurrentHashMap<K, V> map;
+
+        private ConcurrentHashMapCache(int capacity) {
+            this.map = new ConcurrentHashMap<>(capacity * 8);
+        }
+
+        @Override
+        public V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public V remove(K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        // Unbounded
+        @Override
+        public int getCapacity() {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    // Makes a single-threaded cache usable from several threads, as its callers would
+    private static class LockedCache<K, V> implements Cache<K, V> {
+        private final Cache<K, V> cache;
+
+        private LockedCache(Cache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public synchronized V put(K key, V value) {
+            return cache.put(key, value);
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            return cache.remove(key);
+        }
+
+        @Override
+        public synchronized int size() {
+            return cache.size();
+        }
+
+        @Override
+        public int getCapacity() {
+            return cache.getCapacity();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package bench.lrucache;
+
+import cache.LRUCache;
+import cache.LongLongLRUCache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares LongLongLRUCache with the boxed LRUCache<Long, Long> on the same read-through
+ * workload: a get per key, and a put after each miss. Keys follow a Zipf(0.9) distribution over
+ * a key space four times the capacity, so both hits and evictions are frequent.
+ *
+ * Neither cache is thread-safe, so each benchmark thread gets its own.
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar LongLongCacheBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LongLongCacheBenchmark {
+    private static final int STREAM_LENGTH = 1 << 22;
+    private static final long MISSING = Long.MIN_VALUE;
+
+    @Param({"1000", "100000", "1000000"})
+    public int capacity;
+
+    private long[] keys;
+    private int cursor;
+    private LongLongLRUCache primitive;
+    private LRUCache<Long, Long> boxed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = zipfKeys(capacity * 4, STREAM_LENGTH);
+        primitive = new LongLongLRUCache(capacity);
+        boxed = new LRUCache<>(capacity);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitCounters {
+        public long hits;
+    }
+
+    @Benchmark
+    public long longLong(HitCounters counters) {
+        long key = nextKey();
+        long value = primitive.get(key, MISSING);
+        if (value == MISSING) {
+            primitive.put(key, key);
+        } else {
+            counters.hits++;
+        }
+        return value;
+    }
+
+    @Benchmark
+    public Long boxed(HitCounters counters) {
+        long key = nextKey();
+        Long value = boxed.get(key);
+        if (value == null) {
+            boxed.put(key, key);
+        } else {
+            counters.hits++;
+        }
+        return value;
+    }
+
+    private long nextKey() {
+        long key = keys[cursor];
+        cursor = (cursor + 1) & (STREAM_LENGTH - 1);
+        return key;
+    }
+
+    private static long[] zipfKeys(int keySpace, int count) {
+        double[] cumulative = new double[keySpace];
+        double total = 0;
+        for (int rank = 0; rank < keySpace; rank++) {
+            total += 1 / Math.pow(rank + 1, 0.9);
+            cumulative[rank] = total;
+        }
+        SplittableRandom random = new SplittableRandom(11);
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            // Spread ranks over the long range so keys do not hash in order
+            keys[i] = (rank < 0 ? -rank - 1 : rank) * 0x5DEECE66DL + 17;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,128 @@
+package bench.parkinglot;
+
+import entity.ParkingFloor;
+import entity.ParkingLot;
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.Vehicle;
+import enums.SpotType;
+import enums.VehicleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import panels.EntryPanel;
+import panels.ExitPanel;
+import persistence.ParkingJournal;
+import strategy.HourlyPricingStrategy;
+import strategy.IndexedFreeSlotStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to recover a lot after a restart: open the journal, load the snapshot and replay the
+ * journal tail into a fresh lot. The recovery target is well under a second for 100k spots.
+ *
+ * The trial parks vehicles in 80% of the spots, checkpoints, then journals a tail of exits and
+ * entries of the given size. Each measured call recovers into a new, empty lot; recovery of a
+ * current journal does not checkpoint, so the files are the same for every call.
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar JournalRecoveryBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalRecoveryBenchmark {
+    private static final int SPOTS_PER_FLOOR = 10_000;
+    private static final int JOURNAL_CAPACITY = 64 << 20;
+
+    @Param({"100000"})
+    public int spots;
+
+    // Journal events after the snapshot, half exits and half entries
+    @Param({"0", "100000"})
+    public int tail;
+
+    private Path directory;
+    private ParkingLot lot;
+    private ParkingJournal journal;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        directory = Files.createTempDirectory("journal-bench");
+        try (ParkingLot source = buildLot(spots);
+             ParkingJournal writer = ParkingJournal.open(directory, JOURNAL_CAPACITY, 5, 60_000)) {
+            writer.recover(source);
+            EntryPanel entry = source.getEntryPanels().get(0);
+            ExitPanel exit = source.getExitPanels().get(0);
+            List<Ticket> parked = new ArrayList<>();
+            for (int i = 0; i < spots * 8 / 10; i++) {
+                parked.add(source.checkIn(entry, new Vehicle("S" + i, VehicleType.CAR)));
+            }
+            writer.checkpoint();
+            for (int i = 0; i < tail / 2; i++) {
+                exit.processExit(parked.get(i));
+                source.checkIn(entry, new Vehicle("T" + i, VehicleType.CAR));
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyLot() {
+        lot = buildLot(spots);
+    }
+
+    @Benchmark
+    public int recover() throws IOException {
+        journal = ParkingJournal.open(directory, JOURNAL_CAPACITY, 5, 60_000);
+        return journal.recover(lot);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeLot() throws IOException {
+        journal.close();
+        lot.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static ParkingLot buildLot(int size) {
+        List<ParkingFloor> floors = new ArrayList<>();
+        for (int first = 0; first < size; first += SPOTS_PER_FLOOR) {
+            List<ParkingSpot> spots = new ArrayList<>();
+            for (int id = first; id < Math.min(size, first + SPOTS_PER_FLOOR); id++) {
+                spots.add(new ParkingSpot(id, SpotType.MEDIUM));
+            }
+            floors.add(new ParkingFloor(spots, "Floor-" + floors.size()));
+        }
+        return new ParkingLot("Bench", floors,
+                List.of(new EntryPanel("Entry-0", new IndexedFreeSlotStrategy())),
+                List.of(new ExitPanel("Exit-0", new HourlyPricingStrategy())));
+    }
+}
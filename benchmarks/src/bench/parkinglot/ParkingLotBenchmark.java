@@ -0,0 +1,159 @@
+package bench.parkinglot;
+
+import entity.ParkingFloor;
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.TicketRegistry;
+import entity.Vehicle;
+import enums.SpotType;
+import enums.VehicleType;
+import exceptions.LotFullException;
+import interfaces.SlotAllocationStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import panels.EntryPanel;
+import panels.ExitPanel;
+import strategy.FirstFreeSlotStrategy;
+import strategy.HourlyPricingStrategy;
+import strategy.IndexedFreeSlotStrategy;
+import strategy.NearestGateBestFitStrategy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry/exit throughput for each allocation strategy, lot size and occupancy.
+ *
+ * The lot is pre-filled to the target occupancy at random spots. Each benchmark thread then parks
+ * a vehicle through its own EntryPanel and exits its oldest ticket through its own ExitPanel, so
+ * occupancy stays level; one operation is one vehicle's visit. All panels share one strategy and
+ * one ticket registry, as in a real lot. Entries refused because no spot fits are counted in the
+ * "rejected" column.
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar ParkingLotBenchmark -t 4 -prof gc
+ *   -bm sample -tu us reports latency percentiles instead of throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParkingLotBenchmark {
+    private static final int SPOTS_PER_FLOOR = 10_000;
+    private static final int VEHICLES_PER_THREAD = 4;
+    private static final int HELD_PER_THREAD = 2;
+
+    @Param({"first", "indexed", "nearest"})
+    public String strategy;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int spots;
+
+    @Param({"10", "50", "90", "99"})
+    public int occupancy;
+
+    private List<ParkingFloor> floors;
+    private SlotAllocationStrategy allocation;
+    private TicketRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        floors = buildLot(spots);
+        fill(floors, spots, occupancy);
+        allocation = switch (strategy) {
+            case "first" -> new FirstFreeSlotStrategy();
+            case "indexed" -> new IndexedFreeSlotStrategy();
+            // Gate at spot 0: distance is the spot ID
+            case "nearest" -> new NearestGateBestFitStrategy(ParkingSpot::getSpotId);
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        };
+        registry = new TicketRegistry();
+    }
+
+    // One gate per benchmark thread, with a few vehicles that take turns parking
+    @State(Scope.Thread)
+    public static class Gate {
+        private EntryPanel entryPanel;
+        private ExitPanel exitPanel;
+        private final ArrayDeque<Vehicle> idle = new ArrayDeque<>();
+        private final ArrayDeque<Ticket> parked = new ArrayDeque<>();
+
+        @Setup(Level.Trial)
+        public void setUp(ParkingLotBenchmark lot, ThreadParams threadParams) {
+            int index = threadParams.getThreadIndex();
+            entryPanel = new EntryPanel("Entry-" + index, lot.allocation);
+            exitPanel = new ExitPanel("Exit-" + index, new HourlyPricingStrategy());
+            entryPanel.setTicketRegistry(lot.registry);
+            exitPanel.setTicketRegistry(lot.registry);
+            for (int i = 0; i < VEHICLES_PER_THREAD; i++) {
+                idle.add(new Vehicle("BENCH-" + index + "-" + i, VehicleType.values()[i % 3]));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rejections {
+        public long rejected;
+    }
+
+    @Benchmark
+    public Ticket entryAndExit(Gate gate, Rejections rejections) {
+        Vehicle vehicle = gate.idle.poll();
+        Ticket ticket = null;
+        try {
+            ticket = gate.entryPanel.issueTicket(vehicle, floors);
+            gate.parked.add(ticket);
+        } catch (LotFullException e) {
+            gate.idle.add(vehicle);
+            rejections.rejected++;
+        }
+        // Release on rejection too, so a nearly full lot cannot starve every thread
+        if (gate.parked.size() > HELD_PER_THREAD || (ticket == null && !gate.parked.isEmpty())) {
+            Ticket leaving = gate.parked.poll();
+            gate.exitPanel.processExit(leaving);
+            gate.idle.add(leaving.getVehicle());
+        }
+        return ticket;
+    }
+
+    private static List<ParkingFloor> buildLot(int size) {
+        List<ParkingFloor> floors = new ArrayList<>();
+        for (int first = 0; first < size; first += SPOTS_PER_FLOOR) {
+            List<ParkingSpot> spots = new ArrayList<>();
+            for (int id = first; id < Math.min(size, first + SPOTS_PER_FLOOR); id++) {
+                spots.add(new ParkingSpot(id, SpotType.values()[id % 3]));
+            }
+            floors.add(new ParkingFloor(spots, "Floor-" + floors.size()));
+        }
+        return floors;
+    }
+
+    // Occupies random spots so that free spots are spread out as in a real lot
+    private static void fill(List<ParkingFloor> floors, int size, int occupancy) {
+        SplittableRandom random = new SplittableRandom(42);
+        Vehicle filler = new Vehicle("FILLER", VehicleType.BIKE);
+        long target = (long) size * occupancy / 100;
+        for (long filled = 0; filled < target; ) {
+            int id = random.nextInt(size);
+            ParkingSpot spot = floors.get(id / SPOTS_PER_FLOOR).getSpots().get(id % SPOTS_PER_FLOOR);
+            if (spot.tryClaim(filler)) filled++;
+        }
+    }
+}
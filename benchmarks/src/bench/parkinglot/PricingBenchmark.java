@@ -0,0 +1,74 @@
+package bench.parkinglot;
+
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.Vehicle;
+import enums.DayType;
+import enums.SpotType;
+import enums.VehicleType;
+import interfaces.PricingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import strategy.HourlyPricingStrategy;
+import strategy.TariffPricingStrategy;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of pricing one exit. Each call prices a stay one minute longer than the last, so the
+ * tariff table is walked across bands and days rather than hitting one cached answer.
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar PricingBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingBenchmark {
+    private static final long MINUTE = 60_000L;
+    // Stays wrap around after a little over a week
+    private static final long MAX_STAY = 8 * 24 * 60 * MINUTE;
+
+    @Param({"hourly", "tariff"})
+    public String pricing;
+
+    private PricingStrategy strategy;
+    private Ticket ticket;
+    private long stay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        strategy = switch (pricing) {
+            case "hourly" -> new HourlyPricingStrategy();
+            case "tariff" -> TariffPricingStrategy.builder(ZoneOffset.ofHoursMinutes(5, 30))
+                    .defaultRate(VehicleType.CAR, 40)
+                    .rate(VehicleType.CAR, DayType.WEEKDAY, LocalTime.of(9, 0), LocalTime.of(18, 0), 60)
+                    .rate(VehicleType.CAR, DayType.WEEKEND, LocalTime.of(22, 0), LocalTime.of(6, 0), 20)
+                    .dailyCap(VehicleType.CAR, 500)
+                    .minimumCharge(VehicleType.CAR, 20)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown pricing: " + pricing);
+        };
+        ticket = new Ticket(1, new Vehicle("PRICE-1", VehicleType.CAR), new ParkingSpot(1, SpotType.MEDIUM), 0);
+    }
+
+    @Benchmark
+    public double calculatePrice() {
+        stay = stay + MINUTE < MAX_STAY ? stay + MINUTE : MINUTE;
+        return strategy.calculatePrice(ticket, stay);
+    }
+}
@@ -0,0 +1,80 @@
+package generator;
+
+import interfaces.IdGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style ID generator: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node ID
+ * and 12 bits of sequence. Each thread reserves a block of sequence numbers with a single CAS and
+ * then hands them out without touching shared state, so there is no contention per ID.
+ *
+ * A thread's first ID takes one slot straight from the shared sequence, and each block it reserves
+ * after that is twice the last, up to {@link #MAX_BLOCK_SIZE}. A thread that ends early, such as a
+ * virtual thread per request, therefore leaves fewer unused slots than it has issued IDs, while a
+ * long-running thread soon reserves full blocks.
+ *
+ * IDs are unique per node and increase within a thread; across threads they are ordered by the
+ * time their block was reserved. When a millisecond's sequence space is used up, blocks are taken
+ * from the next millisecond instead of waiting for the clock.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int MAX_BLOCK_SIZE = 32;
+
+    private final long nodeId;
+    // Next unreserved (timestamp << SEQUENCE_BITS | sequence) slot
+    private final AtomicLong nextSlot = new AtomicLong();
+    // Per thread: [next slot, end of reserved block, size of the next block]
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[]{0, 0, 1});
+
+    public SnowflakeIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public long nextId() {
+        long[] block = blocks.get();
+        if (block[0] == block[1]) {
+            reserveBlock(block);
+        }
+        long slot = block[0]++;
+        return ((slot >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | (slot & SEQUENCE_MASK);
+    }
+
+    private void reserveBlock(long[] block) {
+        long size = block[2];
+        while (true) {
+            long current = nextSlot.get();
+            long start = Math.max(current, (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS);
+            if ((start & SEQUENCE_MASK) + size > SEQUENCE_MASK + 1) {
+                start = ((start >>> SEQUENCE_BITS) + 1) << SEQUENCE_BITS;
+            }
+            if (nextSlot.compareAndSet(current, start + size)) {
+                block[0] = start;
+                block[1] = start + size;
+                block[2] = Math.min(size * 2, MAX_BLOCK_SIZE);
+                return;
+            }
+        }
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,8 @@
+package interfaces;
+
+/**
+ * Source of unique 64-bit identifiers. IDs are kept as {@code long} and only turned into strings when displayed.
+ */
+public interface IdGenerator {
+    long nextId();
+}
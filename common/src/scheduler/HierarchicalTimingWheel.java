@@ -0,0 +1,191 @@
+package scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed hierarchical timing wheel for large numbers of timeouts, such as reservation holds or
+ * cache entry expiry.
+ *
+ * Time advances in ticks of {@code tickMillis}. Level 0 has one bucket per tick for the next 64
+ * ticks, and each level above covers 64 times the span of the one below. A timeout is hashed
+ * straight into a bucket, so scheduling and cancelling are O(1). When a higher-level bucket comes
+ * due, its entries cascade down a level, so each timeout moves at most once per level before it
+ * expires. Deadlines beyond the top level are parked in it and re-hashed when reached.
+ *
+ * Advancing skips ticks that have no bucket to drain or cascade, so catching up after a long
+ * idle stretch costs a scan of each level's buckets rather than one step per elapsed tick.
+ *
+ * All operations are synchronized on the wheel; each one only touches a few list nodes.
+ */
+public class HierarchicalTimingWheel<T> {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Timeout<T>[][] buckets;
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.buckets = newBuckets();
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                Timeout<T> sentinel = new Timeout<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                buckets[level][slot] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Schedules the item to expire at the first tick at or after the deadline.
+     * A deadline that has already passed expires on the next {@link #advance}.
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(currentTick + 1, -Math.floorDiv(-deadlineMillis, tickMillis));
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    // Returns false if the timeout already expired or was cancelled
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.next == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves time forward to {@code nowMillis} and hands every timeout that came due to the
+     * consumer, in deadline order by tick. The consumer runs while the wheel is locked and must
+     * not call back into it.
+     *
+     * @return the number of expired timeouts
+     */
+    public synchronized int advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = nowMillis / tickMillis;
+        int expired = 0;
+        while (currentTick < targetTick) {
+            currentTick = Math.min(nextBusyTick(), targetTick);
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) break;
+                cascade(buckets[level][(int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK]);
+            }
+            Timeout<T> sentinel = buckets[0][(int) currentTick & WHEEL_MASK];
+            while (sentinel.next != sentinel) {
+                Timeout<T> timeout = sentinel.next;
+                unlink(timeout);
+                if (timeout.deadlineTick > currentTick) {
+                    // Parked beyond the top level; hash it again from here
+                    place(timeout);
+                    continue;
+                }
+                size--;
+                expired++;
+                onExpire.accept(timeout.item);
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Timeout<T>[][] newBuckets() {
+        return (Timeout<T>[][]) new Timeout<?>[LEVELS][WHEEL_SIZE];
+    }
+
+    // First tick after the current one with a level-0 bucket to drain or a higher bucket to cascade
+    private long nextBusyTick() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+        long next = Long.MAX_VALUE;
+        // Level-0 entries are due within one rotation of the current tick
+        for (long tick = currentTick + 1; tick <= currentTick + WHEEL_SIZE; tick++) {
+            if (!isEmpty(buckets[0][(int) tick & WHEEL_MASK])) {
+                next = tick;
+                break;
+            }
+        }
+        // A higher bucket only matters at the boundary where it cascades
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            long boundary = ((currentTick >>> shift) + 1) << shift;
+            for (int i = 0; i < WHEEL_SIZE && boundary < next; i++, boundary += 1L << shift) {
+                if (!isEmpty(buckets[level][(int) (boundary >>> shift) & WHEEL_MASK])) {
+                    next = boundary;
+                    break;
+                }
+            }
+        }
+        return next;
+    }
+
+    private static boolean isEmpty(Timeout<?> sentinel) {
+        return sentinel.next == sentinel;
+    }
+
+    private void cascade(Timeout<T> sentinel) {
+        while (sentinel.next != sentinel) {
+            Timeout<T> timeout = sentinel.next;
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = Math.min(Math.max(timeout.deadlineTick - currentTick, 0), MAX_DELTA);
+        long tick = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        Timeout<T> sentinel = buckets[level][(int) (tick >>> (WHEEL_BITS * level)) & WHEEL_MASK];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * Handle for a scheduled item, used to cancel it.
+     */
+    public static class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void idsIncreaseWithinAThreadAndCarryTheNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        long previous = -1;
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(7, SnowflakeIdGenerator.nodeIdOf(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    void shortLivedThreadsTakeOneSlotEach() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 1000; i++) {
+            Thread thread = Thread.ofVirtual().start(() -> ids.add(generator.nextId()));
+            thread.join();
+        }
+        assertEquals(1000, ids.size());
+
+        // One ID per thread reserves one slot, so each millisecond's IDs are a gap-free run
+        Map<Long, long[]> runs = new HashMap<>();
+        for (long id : ids) {
+            long[] run = runs.computeIfAbsent(SnowflakeIdGenerator.timestampOf(id),
+                    ms -> new long[]{Long.MAX_VALUE, Long.MIN_VALUE, 0});
+            run[0] = Math.min(run[0], id);
+            run[1] = Math.max(run[1], id);
+            run[2]++;
+        }
+        for (long[] run : runs.values()) {
+            assertEquals(run[2], run[1] - run[0] + 1);
+        }
+    }
+
+    @Test
+    void concurrentThreadsNeverShareAnId() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threads.length * 20_000, ids.size());
+    }
+
+    @Test
+    void rejectsNodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+}
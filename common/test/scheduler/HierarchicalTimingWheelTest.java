@@ -0,0 +1,70 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void expiresEachItemAtItsDeadlineAcrossIdleJumps() {
+        SplittableRandom random = new SplittableRandom(42);
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 0);
+        // Deadlines run past the top level, which covers 2^24 ticks
+        List<Long> pending = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long deadline = 1 + random.nextLong(1L << 26);
+            wheel.schedule(deadline, deadline);
+            pending.add(deadline);
+        }
+
+        long now = 0;
+        while (!pending.isEmpty()) {
+            // Mostly short steps, with the occasional long idle stretch
+            now += random.nextInt(10) == 0 ? random.nextLong(1L << 22) : random.nextLong(64);
+            long cutoff = now;
+            List<Long> expired = new ArrayList<>();
+            wheel.advance(now, expired::add);
+
+            List<Long> due = new ArrayList<>();
+            pending.removeIf(deadline -> deadline <= cutoff && due.add(deadline));
+            due.sort(null);
+            List<Long> sorted = new ArrayList<>(expired);
+            sorted.sort(null);
+            assertEquals(due, sorted, "at " + now);
+            assertEquals(sorted, expired, "not in deadline order at " + now);
+            assertEquals(pending.size(), wheel.size());
+        }
+    }
+
+    @Test
+    void idleWheelCatchesUpInOneCall() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 0);
+        wheel.schedule("late", 1L << 40);
+        Set<String> expired = new HashSet<>();
+        // Without skipping this would step through 2^40 ticks
+        wheel.advance((1L << 40) - 1, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(1L << 40, expired::add);
+        assertEquals(Set.of("late"), expired);
+    }
+
+    @Test
+    void cancelledItemsNeverExpire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 0);
+        HierarchicalTimingWheel.Timeout<String> kept = wheel.schedule("kept", 500);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 500);
+        assertTrue(wheel.cancel(cancelled));
+        List<String> expired = new ArrayList<>();
+        wheel.advance(1_000, expired::add);
+        assertEquals(List.of(kept.getItem()), expired);
+        assertEquals(0, wheel.size());
+    }
+}